@@ -0,0 +1,42 @@
+package com.unittest.todo.jmh;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Synthetic responses under {@code fixtures/}, hand-written in the shape the service answers with (ids and
+ * flags as strings, lists under the collection name), rebuilt as RestAssured {@link Response}s so the
+ * parsing benchmarks run the suites' exact code without a network round trip.
+ */
+final class Fixtures {
+
+    /** Location header that goes with {@code todo-created.json}. */
+    static final String CREATED_LOCATION = "/todos/102";
+
+    private Fixtures() {
+    }
+
+    static String text(String name) {
+        String resource = "fixtures/" + name;
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) throw new IllegalArgumentException("No fixture " + resource + " on the classpath");
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Response response(int status, String contentType, String body, String location) {
+        ResponseBuilder b = new ResponseBuilder()
+                .setStatusCode(status)
+                .setContentType(contentType)
+                .setBody(body);
+        if (location != null) b.setHeader("Location", location);
+        return b.build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.unittest.todo.jmh;
+
+import com.unittest.todo.perf.RequestBodies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strings the create and update loops build before every request: the random title and the JSON body
+ * through the engine's own {@link RequestBodies}, next to a pre-sized builder alternative, and the
+ * instance path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBuildingBenchmark {
+
+    private final Random rand = new Random(42);
+    // Non-final so the JIT cannot fold the concatenations into constants
+    private String entity = "todos";
+    private String title = "todos-create-1x2y3z4w5v6u";
+    private String id = "102";
+
+    @Benchmark
+    public String randomTitle() {
+        return RequestBodies.randomTitle(entity + "-create", rand);
+    }
+
+    @Benchmark
+    public String createBodyConcat() {
+        return RequestBodies.titleJson(title);
+    }
+
+    @Benchmark
+    public String createBodyBuilder() {
+        return new StringBuilder(title.length() + 12).append("{\"title\":\"").append(title).append("\"}").toString();
+    }
+
+    @Benchmark
+    public String instancePathConcat() {
+        return "/" + entity + "/" + id;
+    }
+
+    /** Title plus body in one pass, what the create loop costs per request before RestAssured runs. */
+    @Benchmark
+    public String createRequestBody() {
+        return RequestBodies.titleJson(RequestBodies.randomTitle(entity + "-create", rand));
+    }
+}
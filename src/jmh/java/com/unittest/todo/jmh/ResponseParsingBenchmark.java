@@ -0,0 +1,77 @@
+package com.unittest.todo.jmh;
+
+import com.unittest.todo.perf.ResponseParsing;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response parsing the harness does on every request, on synthetic fixture responses: id extraction from the
+ * Location header versus {@code jsonPath()}, the collection count behind {@code getCount}, and full
+ * JSON and XML list parsing. Run with {@code -prof gc} to see the bytes each path allocates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParsingBenchmark {
+
+    private String location;
+    private Response createdWithLocation;
+    private Response createdBodyOnly;
+    private Response todosJson;
+    private Response todosXml;
+
+    @Setup
+    public void setUp() {
+        String created = Fixtures.text("todo-created.json");
+        location = Fixtures.CREATED_LOCATION;
+        createdWithLocation = Fixtures.response(201, "application/json", created, Fixtures.CREATED_LOCATION);
+        createdBodyOnly = Fixtures.response(201, "application/json", created, null);
+        todosJson = Fixtures.response(200, "application/json", Fixtures.text("todos-100.json"), null);
+        todosXml = Fixtures.response(200, "application/xml", Fixtures.text("todos-100.xml"), null);
+    }
+
+    @Benchmark
+    public String idFromLocationHeaderValue() {
+        return ResponseParsing.idFromLocation(location);
+    }
+
+    @Benchmark
+    public String extractIdWithLocation() {
+        return ResponseParsing.extractId(createdWithLocation);
+    }
+
+    @Benchmark
+    public String extractIdFromJsonBody() {
+        return ResponseParsing.extractId(createdBodyOnly);
+    }
+
+    @Benchmark
+    public int countJsonCollection() {
+        return ResponseParsing.count(todosJson, "/todos");
+    }
+
+    @Benchmark
+    public List<String> jsonListTitles() {
+        return todosJson.jsonPath().getList("todos.title");
+    }
+
+    @Benchmark
+    public List<String> xmlListTitles() {
+        return todosXml.xmlPath().getList("todos.todo.title");
+    }
+}
@@ -0,0 +1,137 @@
+package com.unittest.todo.fault;
+
+import com.unittest.todo.perf.ConfidenceInterval;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Distribution of the delay {@link FaultProxy} adds before a response. Written as
+ * {@code kind:param:param}:
+ *
+ * <pre>
+ * none
+ * fixed:20                  always 20 ms
+ * uniform:5:50              5..50 ms
+ * exponential:15            mean 15 ms
+ * lognormal:20:0.6          median 20 ms, sigma 0.6
+ * bimodal:0.05:2:200        2 ms, except 5% of requests take 200 ms
+ * </pre>
+ *
+ * {@link #quantileMs(double)} is exact, so a measured percentile can be compared with the injected one.
+ */
+public final class DelayDistribution {
+
+    private final String kind;
+    private final double a;
+    private final double b;
+    private final double c;
+
+    private DelayDistribution(String kind, double a, double b, double c) {
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+        this.c = c;
+    }
+
+    public static DelayDistribution none() {
+        return new DelayDistribution("none", 0, 0, 0);
+    }
+
+    public static DelayDistribution parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        String kind = parts[0].trim().toLowerCase(Locale.ROOT);
+        double[] v = new double[parts.length - 1];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = Double.parseDouble(parts[i + 1].trim());
+            if (v[i] < 0) throw new IllegalArgumentException("Negative parameter in delay '" + spec + "'");
+        }
+        switch (kind) {
+            case "none":
+                requireParams(spec, v, 0);
+                return none();
+            case "fixed":
+            case "exponential":
+                requireParams(spec, v, 1);
+                return new DelayDistribution(kind, v[0], 0, 0);
+            case "uniform":
+                requireParams(spec, v, 2);
+                if (v[1] < v[0]) throw new IllegalArgumentException("uniform upper bound below lower bound in '" + spec + "'");
+                return new DelayDistribution(kind, v[0], v[1], 0);
+            case "lognormal":
+                requireParams(spec, v, 2);
+                return new DelayDistribution(kind, v[0], v[1], 0);
+            case "bimodal":
+                requireParams(spec, v, 3);
+                if (v[0] > 1) throw new IllegalArgumentException("bimodal slow fraction must be in [0, 1] in '" + spec + "'");
+                return new DelayDistribution(kind, v[0], v[1], v[2]);
+            default:
+                throw new IllegalArgumentException("Unsupported delay distribution: " + spec);
+        }
+    }
+
+    private static void requireParams(String spec, double[] v, int n) {
+        if (v.length != n) {
+            throw new IllegalArgumentException("Delay '" + spec + "' needs " + n + " parameter(s), got " + v.length);
+        }
+    }
+
+    public boolean isNone() {
+        return "none".equals(kind) || ("fixed".equals(kind) && a == 0);
+    }
+
+    public double sampleMs(Random rand) {
+        switch (kind) {
+            case "fixed":
+                return a;
+            case "uniform":
+                return a + rand.nextDouble() * (b - a);
+            case "exponential":
+                return -a * Math.log(1.0 - rand.nextDouble());
+            case "lognormal":
+                return a * Math.exp(b * rand.nextGaussian());
+            case "bimodal":
+                return rand.nextDouble() < a ? c : b;
+            default:
+                return 0;
+        }
+    }
+
+    /** Exact {@code p}-quantile of the injected delay, {@code p} in (0, 1). */
+    public double quantileMs(double p) {
+        switch (kind) {
+            case "fixed":
+                return a;
+            case "uniform":
+                return a + p * (b - a);
+            case "exponential":
+                return -a * Math.log(1.0 - p);
+            case "lognormal":
+                return a * Math.exp(b * ConfidenceInterval.normalQuantile(p));
+            case "bimodal":
+                return p <= 1.0 - a ? b : c;
+            default:
+                return 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case "fixed":
+            case "exponential":
+                return kind + ":" + fmt(a);
+            case "uniform":
+            case "lognormal":
+                return kind + ":" + fmt(a) + ":" + fmt(b);
+            case "bimodal":
+                return kind + ":" + fmt(a) + ":" + fmt(b) + ":" + fmt(c);
+            default:
+                return kind;
+        }
+    }
+
+    private static String fmt(double v) {
+        return v == Math.rint(v) ? String.valueOf((long) v) : String.valueOf(v);
+    }
+}
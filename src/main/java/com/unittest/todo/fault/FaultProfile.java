@@ -0,0 +1,122 @@
+package com.unittest.todo.fault;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * What {@link FaultProxy} does to the traffic it relays, loaded from a {@code .properties} file.
+ *
+ * <pre>
+ * name=brownout
+ * delay=lognormal:20:0.6
+ * bandwidthBytesPerSecond=262144
+ * slowBody.chunkBytes=512
+ * slowBody.chunkDelayMs=2
+ * reset.probability=0.005
+ * errors.burstProbability=0.01
+ * errors.burstLength=5
+ * errors.status=503
+ * seed=42
+ * </pre>
+ *
+ * Every key is optional and defaults to "no fault". Profiles are looked up by file path first, then as
+ * classpath resource {@code fault/<name>.properties}.
+ */
+public final class FaultProfile {
+
+    private final String name;
+    private final DelayDistribution delay;
+    private final long bandwidthBytesPerSecond;
+    private final int slowBodyChunkBytes;
+    private final long slowBodyChunkDelayMs;
+    private final double resetProbability;
+    private final double errorBurstProbability;
+    private final int errorBurstLength;
+    private final int errorStatus;
+    private final long seed;
+
+    private FaultProfile(Properties p) {
+        this.name = p.getProperty("name", "faults").trim();
+        this.delay = DelayDistribution.parse(p.getProperty("delay", "none"));
+        this.bandwidthBytesPerSecond = Long.parseLong(p.getProperty("bandwidthBytesPerSecond", "0").trim());
+        this.slowBodyChunkBytes = Integer.parseInt(p.getProperty("slowBody.chunkBytes", "0").trim());
+        this.slowBodyChunkDelayMs = Long.parseLong(p.getProperty("slowBody.chunkDelayMs", "0").trim());
+        this.resetProbability = Double.parseDouble(p.getProperty("reset.probability", "0").trim());
+        this.errorBurstProbability = Double.parseDouble(p.getProperty("errors.burstProbability", "0").trim());
+        this.errorBurstLength = Integer.parseInt(p.getProperty("errors.burstLength", "1").trim());
+        this.errorStatus = Integer.parseInt(p.getProperty("errors.status", "503").trim());
+        this.seed = Long.parseLong(p.getProperty("seed", "42").trim());
+
+        if (bandwidthBytesPerSecond < 0 || slowBodyChunkBytes < 0 || slowBodyChunkDelayMs < 0) {
+            throw new IllegalArgumentException("Bandwidth and slow-body settings must be >= 0 in fault profile '" + name + "'");
+        }
+        if (resetProbability < 0 || resetProbability > 1 || errorBurstProbability < 0 || errorBurstProbability > 1) {
+            throw new IllegalArgumentException("Probabilities must be in [0, 1] in fault profile '" + name + "'");
+        }
+        if (errorBurstLength < 1) {
+            throw new IllegalArgumentException("errors.burstLength must be >= 1 in fault profile '" + name + "'");
+        }
+        if (errorStatus < 500 || errorStatus > 599) {
+            throw new IllegalArgumentException("errors.status must be a 5xx code in fault profile '" + name + "'");
+        }
+    }
+
+    /** Relays traffic untouched; the baseline for the proxy's own overhead. */
+    public static FaultProfile none() {
+        Properties p = new Properties();
+        p.setProperty("name", "none");
+        return new FaultProfile(p);
+    }
+
+    public static FaultProfile load(String ref) throws IOException {
+        File f = new File(ref);
+        if (f.isFile()) {
+            try (InputStream in = new FileInputStream(f)) {
+                return fromStream(in);
+            }
+        }
+        String resource = "fault/" + ref + ".properties";
+        InputStream in = FaultProfile.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("No fault profile file '" + ref + "' and no classpath resource " + resource);
+        }
+        try (InputStream closing = in) {
+            return fromStream(closing);
+        }
+    }
+
+    public static FaultProfile fromProperties(Properties p) {
+        return new FaultProfile(p);
+    }
+
+    private static FaultProfile fromStream(InputStream in) throws IOException {
+        Properties p = new Properties();
+        try (Reader r = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            p.load(r);
+        }
+        return new FaultProfile(p);
+    }
+
+    public String name() { return name; }
+    /** Added before the response head is sent, i.e. to time-to-first-byte. */
+    public DelayDistribution delay() { return delay; }
+    /** Cap on response bytes per second per connection; 0 means unlimited. */
+    public long bandwidthBytesPerSecond() { return bandwidthBytesPerSecond; }
+    /** When positive, the response body is written in chunks of this size... */
+    public int slowBodyChunkBytes() { return slowBodyChunkBytes; }
+    /** ...with this pause between them. */
+    public long slowBodyChunkDelayMs() { return slowBodyChunkDelayMs; }
+    /** Chance that a connection is reset (RST, no response) instead of served. */
+    public double resetProbability() { return resetProbability; }
+    /** Chance that a request starts a burst of {@link #errorBurstLength()} consecutive {@link #errorStatus()} responses. */
+    public double errorBurstProbability() { return errorBurstProbability; }
+    public int errorBurstLength() { return errorBurstLength; }
+    public int errorStatus() { return errorStatus; }
+    public long seed() { return seed; }
+}
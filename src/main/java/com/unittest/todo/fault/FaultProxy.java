@@ -0,0 +1,421 @@
+package com.unittest.todo.fault;
+
+import com.unittest.todo.perf.LatencyHistogram;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local HTTP proxy in front of the service that degrades traffic according to a {@link FaultProfile}:
+ * added delay before the response, per-connection bandwidth caps, response bodies trickled out in
+ * chunks, connection resets and bursts of 5xx responses. Every connection carries one request and is
+ * closed afterwards ({@code Connection: close} both ways), so the proxy never has to track keep-alive
+ * state; the extra loopback connect is part of the baseline measured with {@link FaultProfile#none()}.
+ * The delay actually injected is recorded per request so measured percentiles can be checked against it.
+ */
+public final class FaultProxy implements AutoCloseable {
+
+    private static final int SOCKET_TIMEOUT_MS = 30_000;
+    private static final int MAX_HEAD_BYTES = 64 * 1024;
+    private static final byte[] EMPTY = new byte[0];
+    private static final Set<String> HOP_BY_HOP = new HashSet<>(Arrays.asList(
+            "connection", "keep-alive", "proxy-connection", "te", "trailer", "upgrade",
+            "transfer-encoding", "content-length", "host"));
+
+    private final ServerSocket server;
+    private final String upstreamHost;
+    private final int upstreamPort;
+    private final String upstreamPath;
+    private final FaultProfile profile;
+    private final Random rand;
+    private final ExecutorService executor;
+    private final AtomicInteger burstRemaining = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder upstreamFailures = new LongAdder();
+    private final LatencyHistogram injectedDelay = new LatencyHistogram();
+    private volatile boolean closed;
+
+    private FaultProxy(ServerSocket server, URI upstream, FaultProfile profile) {
+        this.server = server;
+        this.upstreamHost = upstream.getHost();
+        this.upstreamPort = upstream.getPort() > 0 ? upstream.getPort() : 80;
+        String path = upstream.getRawPath() == null ? "" : upstream.getRawPath();
+        this.upstreamPath = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        this.profile = profile;
+        this.rand = new Random(profile.seed());
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "fault-proxy-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Starts relaying to {@code upstreamBaseUrl} (plain http) on {@code port}; 0 picks a free port. */
+    public static FaultProxy start(String upstreamBaseUrl, FaultProfile profile, int port) throws IOException {
+        URI upstream = URI.create(upstreamBaseUrl);
+        if (!"http".equalsIgnoreCase(upstream.getScheme()) || upstream.getHost() == null) {
+            throw new IllegalArgumentException("Fault proxy needs an http:// upstream, got " + upstreamBaseUrl);
+        }
+        ServerSocket socket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        FaultProxy proxy = new FaultProxy(socket, upstream, profile);
+        Thread acceptor = new Thread(proxy::acceptLoop, "fault-proxy-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return proxy;
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + port();
+    }
+
+    public FaultProfile profile() {
+        return profile;
+    }
+
+    public long requests() { return requests.sum(); }
+    public long resets() { return resets.sum(); }
+    public long injectedErrors() { return injectedErrors.sum(); }
+    /** Requests answered with 502 because the upstream could not be reached or misbehaved. */
+    public long upstreamFailures() { return upstreamFailures.sum(); }
+    /** Delay added to each request that was not reset. */
+    public LatencyHistogram injectedDelay() { return injectedDelay; }
+
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "fault profile '%s': requests=%d resets=%d injected_errors=%d upstream_failures=%d injected_delay_p50_ms=%.3f injected_delay_p99_ms=%.3f",
+                profile.name(), requests(), resets(), injectedErrors(), upstreamFailures(),
+                injectedDelay.percentileMs(0.50), injectedDelay.percentileMs(0.99));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            server.close();
+        } catch (IOException ignored) {
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket client = server.accept();
+                executor.execute(() -> handle(client));
+            } catch (SocketException e) {
+                if (closed) return;
+            } catch (IOException ignored) {
+                // A failed accept only loses that connection
+            }
+        }
+    }
+
+    private void handle(Socket client) {
+        try (Socket c = client) {
+            c.setSoTimeout(SOCKET_TIMEOUT_MS);
+            c.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(c.getInputStream());
+            Request req = readRequest(in);
+            if (req == null) return;
+            requests.increment();
+
+            if (profile.resetProbability() > 0 && rand.nextDouble() < profile.resetProbability()) {
+                resets.increment();
+                // Linger 0 turns the close below into a RST instead of a FIN
+                c.setSoLinger(true, 0);
+                return;
+            }
+
+            long delayNs = (long) (profile.delay().sampleMs(rand) * 1_000_000L);
+            injectedDelay.recordNanos(delayNs);
+            if (delayNs > 0) TimeUnit.NANOSECONDS.sleep(delayNs);
+
+            Response resp;
+            if (injectError()) {
+                injectedErrors.increment();
+                resp = errorResponse(profile.errorStatus(), "Injected fault");
+            } else {
+                try {
+                    resp = forward(req);
+                } catch (IOException e) {
+                    upstreamFailures.increment();
+                    resp = errorResponse(502, "Upstream failed: " + e.getMessage());
+                }
+            }
+            writeResponse(c.getOutputStream(), resp);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ignored) {
+            // The client went away; nothing to relay
+        }
+    }
+
+    /** Either continues a running 5xx burst or starts a new one with the profile's probability. */
+    private boolean injectError() {
+        while (true) {
+            int left = burstRemaining.get();
+            if (left > 0) {
+                if (burstRemaining.compareAndSet(left, left - 1)) return true;
+                continue;
+            }
+            if (profile.errorBurstProbability() > 0 && rand.nextDouble() < profile.errorBurstProbability()) {
+                burstRemaining.addAndGet(profile.errorBurstLength() - 1);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private Response forward(Request req) throws IOException {
+        try (Socket up = new Socket()) {
+            up.connect(new InetSocketAddress(upstreamHost, upstreamPort), SOCKET_TIMEOUT_MS);
+            up.setSoTimeout(SOCKET_TIMEOUT_MS);
+            up.setTcpNoDelay(true);
+
+            StringBuilder head = new StringBuilder();
+            head.append(req.method).append(' ').append(upstreamPath).append(req.target).append(" HTTP/1.1\r\n");
+            head.append("Host: ").append(upstreamHost).append(':').append(upstreamPort).append("\r\n");
+            for (String[] h : req.headers) {
+                if (!HOP_BY_HOP.contains(h[0].toLowerCase(Locale.ROOT))) {
+                    head.append(h[0]).append(": ").append(h[1]).append("\r\n");
+                }
+            }
+            if (req.hasBody) head.append("Content-Length: ").append(req.body.length).append("\r\n");
+            head.append("Connection: close\r\n\r\n");
+            OutputStream out = up.getOutputStream();
+            out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+            out.write(req.body);
+            out.flush();
+
+            InputStream in = new BufferedInputStream(up.getInputStream());
+            String respHead = readHead(in);
+            if (respHead == null) throw new EOFException("upstream closed without a response");
+            String[] lines = respHead.split("\r\n");
+            String statusLine = lines[0];
+            int status = Integer.parseInt(statusLine.split(" ")[1]);
+            List<String[]> headers = parseHeaders(lines);
+
+            boolean noBody = "HEAD".equals(req.method) || status < 200 || status == 204 || status == 304;
+            byte[] body = noBody ? EMPTY : readBody(in, headers, true);
+
+            StringBuilder out2 = new StringBuilder(statusLine).append("\r\n");
+            for (String[] h : headers) {
+                String name = h[0].toLowerCase(Locale.ROOT);
+                // HEAD keeps the upstream Content-Length, which describes the body it would have sent
+                if (!HOP_BY_HOP.contains(name) || (noBody && "content-length".equals(name))) {
+                    out2.append(h[0]).append(": ").append(h[1]).append("\r\n");
+                }
+            }
+            if (!noBody) out2.append("Content-Length: ").append(body.length).append("\r\n");
+            out2.append("Connection: close\r\n\r\n");
+            return new Response(out2.toString().getBytes(StandardCharsets.ISO_8859_1), body);
+        }
+    }
+
+    private void writeResponse(OutputStream out, Response resp) throws IOException, InterruptedException {
+        long bandwidth = profile.bandwidthBytesPerSecond();
+        long t0 = System.nanoTime();
+        out.write(resp.head);
+        out.flush();
+        long sent = resp.head.length;
+        byte[] body = resp.body;
+        int chunk = body.length;
+        if (profile.slowBodyChunkBytes() > 0) {
+            chunk = profile.slowBodyChunkBytes();
+        } else if (bandwidth > 0) {
+            // ~10 ms of data per write keeps the pacing smooth without a syscall per byte
+            chunk = (int) Math.max(256L, Math.min(Integer.MAX_VALUE, bandwidth / 100));
+        }
+        for (int off = 0; off < body.length; off += chunk) {
+            if (off > 0 && profile.slowBodyChunkDelayMs() > 0) Thread.sleep(profile.slowBodyChunkDelayMs());
+            int n = Math.min(chunk, body.length - off);
+            sent += n;
+            if (bandwidth > 0) {
+                // Hold the chunk until the cap allows its last byte; pacing after the write would let a
+                // body that fits in one chunk arrive unthrottled
+                long dueNs = t0 + sent * 1_000_000_000L / bandwidth;
+                long waitNs = dueNs - System.nanoTime();
+                if (waitNs > 0) TimeUnit.NANOSECONDS.sleep(waitNs);
+            }
+            out.write(body, off, n);
+            out.flush();
+        }
+    }
+
+    private static Response errorResponse(int status, String message) {
+        String json = "{\"errorMessages\":[\"" + message.replace("\\", "\\\\").replace("\"", "\\\"") + "\"]}";
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        String head = "HTTP/1.1 " + status + " " + reason(status) + "\r\n" +
+                "Content-Type: application/json\r\n" +
+                "Content-Length: " + body.length + "\r\n" +
+                "Connection: close\r\n\r\n";
+        return new Response(head.getBytes(StandardCharsets.ISO_8859_1), body);
+    }
+
+    private static String reason(int status) {
+        switch (status) {
+            case 500: return "Internal Server Error";
+            case 502: return "Bad Gateway";
+            case 503: return "Service Unavailable";
+            case 504: return "Gateway Timeout";
+            default: return "Server Error";
+        }
+    }
+
+    private static Request readRequest(InputStream in) throws IOException {
+        String head = readHead(in);
+        if (head == null) return null;
+        String[] lines = head.split("\r\n");
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length < 2) throw new IOException("Malformed request line: " + lines[0]);
+        List<String[]> headers = parseHeaders(lines);
+        boolean hasBody = header(headers, "content-length") != null || header(headers, "transfer-encoding") != null;
+        byte[] body = hasBody ? readBody(in, headers, false) : EMPTY;
+        return new Request(requestLine[0], requestLine[1], headers, hasBody, body);
+    }
+
+    /** Head up to and excluding the blank line, or null when the stream ends before the first byte. */
+    private static String readHead(InputStream in) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(512);
+        int last4 = 0;
+        int b;
+        while ((b = in.read()) != -1) {
+            buf.write(b);
+            last4 = (last4 << 8) | b;
+            if (last4 == 0x0D0A0D0A) {
+                byte[] bytes = buf.toByteArray();
+                return new String(bytes, 0, bytes.length - 4, StandardCharsets.ISO_8859_1);
+            }
+            if (buf.size() > MAX_HEAD_BYTES) throw new IOException("HTTP head larger than " + MAX_HEAD_BYTES + " bytes");
+        }
+        if (buf.size() == 0) return null;
+        throw new EOFException("Stream ended inside the HTTP head");
+    }
+
+    private static List<String[]> parseHeaders(String[] lines) {
+        List<String[]> headers = new ArrayList<>(lines.length);
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon > 0) headers.add(new String[]{lines[i].substring(0, colon).trim(), lines[i].substring(colon + 1).trim()});
+        }
+        return headers;
+    }
+
+    private static String header(List<String[]> headers, String lowerName) {
+        for (String[] h : headers) {
+            if (h[0].toLowerCase(Locale.ROOT).equals(lowerName)) return h[1];
+        }
+        return null;
+    }
+
+    /** Chunked bodies are decoded so they can be re-sent with a Content-Length. */
+    private static byte[] readBody(InputStream in, List<String[]> headers, boolean untilEofAllowed) throws IOException {
+        String te = header(headers, "transfer-encoding");
+        if (te != null && te.toLowerCase(Locale.ROOT).contains("chunked")) {
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            while (true) {
+                String sizeLine = readLine(in);
+                int semi = sizeLine.indexOf(';');
+                int size = Integer.parseInt((semi >= 0 ? sizeLine.substring(0, semi) : sizeLine).trim(), 16);
+                if (size == 0) {
+                    // Skip trailers up to the terminating blank line
+                    while (!readLine(in).isEmpty()) {
+                        // discard
+                    }
+                    return buf.toByteArray();
+                }
+                buf.write(readFully(in, size));
+                readLine(in);
+            }
+        }
+        String length = header(headers, "content-length");
+        if (length != null) return readFully(in, Integer.parseInt(length));
+        if (!untilEofAllowed) return EMPTY;
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        byte[] tmp = new byte[8192];
+        int n;
+        while ((n = in.read(tmp)) != -1) buf.write(tmp, 0, n);
+        return buf.toByteArray();
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                int len = sb.length();
+                if (len > 0 && sb.charAt(len - 1) == '\r') sb.setLength(len - 1);
+                return sb.toString();
+            }
+            sb.append((char) b);
+        }
+        throw new EOFException("Stream ended inside a chunked body");
+    }
+
+    private static byte[] readFully(InputStream in, int n) throws IOException {
+        byte[] out = new byte[n];
+        int off = 0;
+        while (off < n) {
+            int r = in.read(out, off, n - off);
+            if (r == -1) throw new EOFException("Body shorter than " + n + " bytes");
+            off += r;
+        }
+        return out;
+    }
+
+    private static final class Request {
+        private final String method;
+        private final String target;
+        private final List<String[]> headers;
+        private final boolean hasBody;
+        private final byte[] body;
+
+        private Request(String method, String target, List<String[]> headers, boolean hasBody, byte[] body) {
+            this.method = method;
+            this.target = target;
+            this.headers = headers;
+            this.hasBody = hasBody;
+            this.body = body;
+        }
+    }
+
+    private static final class Response {
+        private final byte[] head;
+        private final byte[] body;
+
+        private Response(byte[] head, byte[] body) {
+            this.head = head;
+            this.body = body;
+        }
+    }
+}
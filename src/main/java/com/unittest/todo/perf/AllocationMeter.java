@@ -0,0 +1,71 @@
+package com.unittest.todo.perf;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Client-side resource accounting for perf cells: bytes allocated by the calling thread (HotSpot's
+ * {@code com.sun.management.ThreadMXBean}) and collection counts and times summed over all
+ * {@link GarbageCollectorMXBean}s. A latency shift that comes with a jump in client GC time is the load
+ * generator's, not the service's. Collection time is what the beans report, which for G1 and ZGC
+ * includes concurrent cycles; it is not wall-clock pause time.
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = hotspotThreads();
+
+    private AllocationMeter() {
+    }
+
+    private static com.sun.management.ThreadMXBean hotspotThreads() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+        if (!hotspot.isThreadAllocatedMemorySupported()) return null;
+        if (!hotspot.isThreadAllocatedMemoryEnabled()) hotspot.setThreadAllocatedMemoryEnabled(true);
+        return hotspot;
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /** Cumulative bytes allocated by the current thread, or -1 when the JVM cannot tell. */
+    public static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1L : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /** Collections and accumulated collection time of every collector, since JVM start. */
+    public static GcTotals gcTotals() {
+        long count = 0L;
+        long timeMs = 0L;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0L, gc.getCollectionCount());
+            timeMs += Math.max(0L, gc.getCollectionTime());
+        }
+        return new GcTotals(count, timeMs);
+    }
+
+    /** Point-in-time GC totals; subtract two to get what happened in between. */
+    public static final class GcTotals {
+        private final long count;
+        private final long timeMs;
+
+        GcTotals(long count, long timeMs) {
+            this.count = count;
+            this.timeMs = timeMs;
+        }
+
+        public long count() { return count; }
+        /**
+         * Summed {@link GarbageCollectorMXBean#getCollectionTime()}: includes concurrent phases for
+         * collectors that report them (e.g. "G1 Concurrent GC", ZGC cycles), so it is not pause time.
+         */
+        public long collectionTimeMs() { return timeMs; }
+
+        public GcTotals since(GcTotals earlier) {
+            return new GcTotals(count - earlier.count, timeMs - earlier.timeMs);
+        }
+    }
+}
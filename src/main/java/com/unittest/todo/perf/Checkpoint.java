@@ -0,0 +1,143 @@
+package com.unittest.todo.perf;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Progress of a plan run, rewritten when a cell starts, while it creates entities and after every
+ * completed operation phase, so an interrupted sweep can resume. Records the finished cells, the cell in
+ * flight with its finished operations, and the IDs that cell still has live on the service.
+ */
+public final class Checkpoint {
+
+    private final File file;
+    private final String planName;
+    private final Set<String> completedCells = new LinkedHashSet<>();
+    private String currentCell = "";
+    private final List<String> currentOps = new ArrayList<>();
+    private final List<String> liveIds = new ArrayList<>();
+
+    private Checkpoint(File file, String planName) {
+        this.file = file;
+        this.planName = planName;
+    }
+
+    /** Loads the checkpoint for {@code plan}; a missing file or one written for another plan yields an empty one. */
+    public static Checkpoint load(File file, String planName) throws IOException {
+        Checkpoint cp = new Checkpoint(file, planName);
+        if (!file.isFile()) return cp;
+        Properties p = new Properties();
+        try (InputStream in = new FileInputStream(file); Reader r = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            p.load(r);
+        }
+        if (!planName.equals(p.getProperty("plan"))) return cp;
+        cp.completedCells.addAll(split(p.getProperty("completedCells", "")));
+        cp.currentCell = p.getProperty("currentCell", "");
+        cp.currentOps.addAll(split(p.getProperty("currentOps", "")));
+        cp.liveIds.addAll(split(p.getProperty("liveIds", "")));
+        return cp;
+    }
+
+    public static String cellKey(String entity, int concurrency, int size) {
+        return entity + "|" + concurrency + "|" + size;
+    }
+
+    public boolean isEmpty() {
+        return completedCells.isEmpty() && currentCell.isEmpty();
+    }
+
+    public boolean isCompleted(String cell) {
+        return completedCells.contains(cell);
+    }
+
+    /** Cell that was in flight when the previous run stopped, or empty. */
+    public String partialCell() {
+        return currentCell;
+    }
+
+    public List<String> partialLiveIds() {
+        return Collections.unmodifiableList(liveIds);
+    }
+
+    /** Marks {@code cell} in flight before its first request, so a crash anywhere in it is cleaned up. */
+    public synchronized void cellStarted(String cell) throws IOException {
+        currentCell = cell;
+        currentOps.clear();
+        liveIds.clear();
+        save();
+    }
+
+    /** Replaces the in-flight cell's live IDs, e.g. every few creates while its store fills up. */
+    public synchronized void liveIds(Collection<String> ids) throws IOException {
+        liveIds.clear();
+        liveIds.addAll(ids);
+        save();
+    }
+
+    public synchronized void phaseDone(String cell, String op, Collection<String> ids) throws IOException {
+        if (!cell.equals(currentCell)) {
+            currentCell = cell;
+            currentOps.clear();
+        }
+        currentOps.add(op);
+        liveIds.clear();
+        liveIds.addAll(ids);
+        save();
+    }
+
+    public synchronized void cellDone(String cell) throws IOException {
+        completedCells.add(cell);
+        currentCell = "";
+        currentOps.clear();
+        liveIds.clear();
+        save();
+    }
+
+    public void delete() {
+        if (file.exists()) file.delete();
+    }
+
+    private void save() throws IOException {
+        Properties p = new Properties();
+        p.setProperty("plan", planName);
+        p.setProperty("completedCells", String.join(",", completedCells));
+        p.setProperty("currentCell", currentCell);
+        p.setProperty("currentOps", String.join(",", currentOps));
+        p.setProperty("liveIds", String.join(",", liveIds));
+
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (!dir.exists()) dir.mkdirs();
+        File tmp = new File(dir, file.getName() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp); Writer w = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            p.store(w, "perf checkpoint");
+        }
+        // Rename so a crash mid-write never leaves a truncated checkpoint behind
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static List<String> split(String value) {
+        List<String> out = new ArrayList<>();
+        for (String s : value.split(",")) {
+            if (!s.isEmpty()) out.add(s);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,110 @@
+package com.unittest.todo.perf;
+
+import java.util.Arrays;
+
+/**
+ * Two-sided confidence interval around a latency statistic, in milliseconds.
+ * The mean uses a Student-t interval; quantiles use the distribution-free order-statistic interval,
+ * which stays open (infinite upper bound) until there are enough samples above the quantile.
+ */
+public final class ConfidenceInterval {
+
+    private final double estimateMs;
+    private final double lowMs;
+    private final double highMs;
+
+    private ConfidenceInterval(double estimateMs, double lowMs, double highMs) {
+        this.estimateMs = estimateMs;
+        this.lowMs = lowMs;
+        this.highMs = highMs;
+    }
+
+    /** {@code statistic} is {@code mean} or {@code pNN} (e.g. {@code p99}). */
+    public static ConfidenceInterval of(String statistic, long[] samplesNs, double confidence) {
+        if ("mean".equals(statistic)) return forMean(samplesNs, confidence);
+        if (statistic.startsWith("p")) {
+            return forQuantile(samplesNs, Double.parseDouble(statistic.substring(1)) / 100.0, confidence);
+        }
+        throw new IllegalArgumentException("Unsupported statistic: " + statistic);
+    }
+
+    public static ConfidenceInterval forMean(long[] samplesNs, double confidence) {
+        int n = samplesNs.length;
+        if (n == 0) return new ConfidenceInterval(Double.NaN, Double.NaN, Double.NaN);
+        double sum = 0;
+        for (long s : samplesNs) sum += s;
+        double mean = sum / n;
+        if (n == 1) return new ConfidenceInterval(mean / 1e6, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        double ss = 0;
+        for (long s : samplesNs) ss += (s - mean) * (s - mean);
+        double sd = Math.sqrt(ss / (n - 1));
+        double half = studentT((1 + confidence) / 2, n - 1) * sd / Math.sqrt(n);
+        return new ConfidenceInterval(mean / 1e6, (mean - half) / 1e6, (mean + half) / 1e6);
+    }
+
+    public static ConfidenceInterval forQuantile(long[] samplesNs, double p, double confidence) {
+        int n = samplesNs.length;
+        if (n == 0) return new ConfidenceInterval(Double.NaN, Double.NaN, Double.NaN);
+        long[] sorted = samplesNs.clone();
+        Arrays.sort(sorted);
+        double z = normalQuantile((1 + confidence) / 2);
+        double spread = z * Math.sqrt(n * p * (1 - p));
+        // 1-based ranks of the order statistics bracketing the quantile
+        int lowRank = (int) Math.floor(n * p - spread);
+        int highRank = (int) Math.ceil(n * p + spread) + 1;
+        int estRank = Math.max(1, Math.min(n, (int) Math.ceil(p * n)));
+        double est = sorted[estRank - 1] / 1e6;
+        double lo = lowRank < 1 ? Double.NEGATIVE_INFINITY : sorted[lowRank - 1] / 1e6;
+        double hi = highRank > n ? Double.POSITIVE_INFINITY : sorted[highRank - 1] / 1e6;
+        return new ConfidenceInterval(est, lo, hi);
+    }
+
+    public double estimateMs() { return estimateMs; }
+    public double lowMs() { return lowMs; }
+    public double highMs() { return highMs; }
+
+    /** Interval width relative to the estimate; infinite while the interval is still open. */
+    public double relativeWidth() {
+        if (estimateMs <= 0 || Double.isNaN(estimateMs)) return Double.POSITIVE_INFINITY;
+        return (highMs - lowMs) / estimateMs;
+    }
+
+    /** Acklam's rational approximation of the standard normal inverse CDF. */
+    public static double normalQuantile(double p) {
+        if (p <= 0 || p >= 1) throw new IllegalArgumentException("p must be in (0, 1): " + p);
+        double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        double pLow = 0.02425;
+        if (p < pLow) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - pLow) {
+            return -normalQuantile(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+
+    /** Student-t inverse CDF via the Cornish-Fisher expansion around the normal quantile. */
+    static double studentT(double p, int df) {
+        double z = normalQuantile(p);
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        double z7 = z5 * z * z;
+        double v = df;
+        return z
+                + (z3 + z) / (4 * v)
+                + (5 * z5 + 16 * z3 + 3 * z) / (96 * v * v)
+                + (3 * z7 + 19 * z5 + 17 * z3 - 15 * z) / (384 * v * v * v);
+    }
+}
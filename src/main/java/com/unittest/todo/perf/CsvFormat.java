@@ -0,0 +1,38 @@
+package com.unittest.todo.perf;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Cell formatting shared by every CSV under {@code target/perf}, so the engine and the performance
+ * suites write numbers and start times the same way. NaN and infinities become empty cells.
+ */
+public final class CsvFormat {
+
+    private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("h:mm:ss a", Locale.US);
+
+    private CsvFormat() {
+    }
+
+    /** Wall-clock time of {@code epochMs} in the local zone, as the {@code start_time_local} column. */
+    public static String localTime(long epochMs) {
+        return TIME_FMT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault()));
+    }
+
+    public static String round0(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return "";
+        }
+        return String.format(Locale.ROOT, "%.0f", value);
+    }
+
+    public static String round4(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return "";
+        }
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+}
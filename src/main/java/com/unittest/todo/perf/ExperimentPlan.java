@@ -0,0 +1,247 @@
+package com.unittest.todo.perf;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Declarative description of a perf run, loaded from a {@code .properties} file.
+ *
+ * <pre>
+ * name=smoke
+ * entities=todos,categories
+ * sizes=1,5,10,25
+ * operations=create,update,delete
+ * concurrency=1,2
+ * warmup=5
+ * maxDurationSeconds=30
+ * sinks=stdout,csv,openmetrics
+ * csv.file=smoke.csv
+ * metrics.port=9464
+ * metrics.host=127.0.0.1
+ * fault=brownout
+ * calibration.iterations=100
+ * calibration.maxShare=0.20
+ * client.connectTimeoutMs=2000
+ * client.readTimeoutMs=10000
+ * compare.baseUrl=http://localhost:4568
+ * compare.minPairs=30
+ * checkpoint=false
+ * sampling=adaptive
+ * adaptive.statistic=p99
+ * adaptive.targetRelativeWidth=0.10
+ * </pre>
+ *
+ * Plans are looked up by file path first, then as classpath resource {@code perf/<name>.properties}.
+ */
+public final class ExperimentPlan {
+
+    private final String name;
+    private final String baseUrl;
+    private final List<String> entities;
+    private final int[] sizes;
+    private final List<String> operations;
+    private final int[] concurrency;
+    private final int warmup;
+    private final Duration maxDuration;
+    private final List<String> sinks;
+    private final File outputDir;
+    private final String csvFile;
+    private final boolean checkpoint;
+    private final int metricsPort;
+    private final String metricsHost;
+    private final String fault;
+    private final int calibrationIterations;
+    private final double calibrationMaxShare;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+    private final String compareBaseUrl;
+    private final int compareMinPairs;
+    private final String compareCsvFile;
+    private final boolean adaptive;
+    private final String adaptiveStatistic;
+    private final double adaptiveConfidence;
+    private final double adaptiveTargetRelativeWidth;
+    private final int adaptiveMinSamples;
+    private final int adaptiveMaxSamples;
+
+    private ExperimentPlan(Properties p) {
+        this.name = p.getProperty("name", "plan").trim();
+        this.baseUrl = p.getProperty("baseUrl", defaultBaseUrl()).trim();
+        this.entities = csv(p.getProperty("entities", "todos"));
+        this.sizes = ints(p.getProperty("sizes", "1,5,10"));
+        this.operations = csv(p.getProperty("operations", "create,update,delete"));
+        this.concurrency = ints(p.getProperty("concurrency", "1"));
+        this.warmup = Integer.parseInt(p.getProperty("warmup", "0").trim());
+        this.maxDuration = Duration.ofSeconds(Long.parseLong(p.getProperty("maxDurationSeconds", "0").trim()));
+        this.sinks = csv(p.getProperty("sinks", "stdout,csv"));
+        this.outputDir = new File(p.getProperty("outputDir", "target/perf").trim());
+        this.csvFile = p.getProperty("csv.file", name + "-experiment.csv").trim();
+        this.checkpoint = Boolean.parseBoolean(p.getProperty("checkpoint", "false").trim());
+        this.metricsPort = Integer.parseInt(p.getProperty("metrics.port", "-1").trim());
+        this.metricsHost = p.getProperty("metrics.host", "127.0.0.1").trim();
+        this.fault = p.getProperty("fault", "").trim();
+        this.calibrationIterations = Integer.parseInt(p.getProperty("calibration.iterations", "0").trim());
+        this.calibrationMaxShare = Double.parseDouble(p.getProperty("calibration.maxShare", "0.20").trim());
+        this.connectTimeoutMs = Integer.parseInt(p.getProperty("client.connectTimeoutMs", "0").trim());
+        this.readTimeoutMs = Integer.parseInt(p.getProperty("client.readTimeoutMs", "0").trim());
+        this.compareBaseUrl = p.getProperty("compare.baseUrl", "").trim();
+        this.compareMinPairs = Integer.parseInt(p.getProperty("compare.minPairs", "30").trim());
+        this.compareCsvFile = p.getProperty("compare.csv.file", name + "-ab.csv").trim();
+        String sampling = p.getProperty("sampling", "fixed").trim();
+        this.adaptive = "adaptive".equals(sampling);
+        this.adaptiveStatistic = p.getProperty("adaptive.statistic", "mean").trim();
+        this.adaptiveConfidence = Double.parseDouble(p.getProperty("adaptive.confidence", "0.95").trim());
+        this.adaptiveTargetRelativeWidth = Double.parseDouble(p.getProperty("adaptive.targetRelativeWidth", "0.10").trim());
+        this.adaptiveMinSamples = Integer.parseInt(p.getProperty("adaptive.minSamples", "10").trim());
+        this.adaptiveMaxSamples = Integer.parseInt(p.getProperty("adaptive.maxSamples", "5000").trim());
+
+        for (String op : operations) {
+            if (!Arrays.asList("create", "read", "update", "delete").contains(op)) {
+                throw new IllegalArgumentException("Unsupported operation in plan '" + name + "': " + op);
+            }
+        }
+        if (!operations.contains("create")) {
+            throw new IllegalArgumentException("Plan '" + name + "' must include the create operation");
+        }
+        if (!adaptive && !"fixed".equals(sampling)) {
+            throw new IllegalArgumentException("Unsupported sampling in plan '" + name + "': " + sampling);
+        }
+        if (!"mean".equals(adaptiveStatistic) && !adaptiveStatistic.matches("p\\d+(\\.\\d+)?")) {
+            throw new IllegalArgumentException("Unsupported adaptive.statistic in plan '" + name + "': " + adaptiveStatistic);
+        }
+        for (int c : concurrency) {
+            if (c < 1) throw new IllegalArgumentException("Concurrency must be >= 1 in plan '" + name + "'");
+        }
+        if (connectTimeoutMs < 0 || readTimeoutMs < 0) {
+            throw new IllegalArgumentException("Client timeouts must be >= 0 in plan '" + name + "'");
+        }
+        if (compareMinPairs < 2) {
+            throw new IllegalArgumentException("compare.minPairs must be >= 2 in plan '" + name + "'");
+        }
+    }
+
+    public static ExperimentPlan load(String ref) throws IOException {
+        return load(ref, new Properties());
+    }
+
+    /** Loads {@code ref} and applies {@code overrides} on top of its keys, e.g. from runner flags. */
+    public static ExperimentPlan load(String ref, Properties overrides) throws IOException {
+        Properties p = read(ref);
+        p.putAll(overrides);
+        return new ExperimentPlan(p);
+    }
+
+    public static ExperimentPlan fromProperties(Properties p) {
+        return new ExperimentPlan(p);
+    }
+
+    private static Properties read(String ref) throws IOException {
+        File f = new File(ref);
+        if (f.isFile()) {
+            try (InputStream in = new FileInputStream(f)) {
+                return readStream(in);
+            }
+        }
+        String resource = "perf/" + ref + ".properties";
+        InputStream in = ExperimentPlan.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("No plan file '" + ref + "' and no classpath resource " + resource);
+        }
+        try (InputStream closing = in) {
+            return readStream(closing);
+        }
+    }
+
+    private static Properties readStream(InputStream in) throws IOException {
+        Properties p = new Properties();
+        try (Reader r = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            p.load(r);
+        }
+        return p;
+    }
+
+    /** Read at plan load time so a stand-in started by a test extension is picked up. */
+    public static String defaultBaseUrl() {
+        return System.getProperty("todo.baseUrl", "http://localhost:4567");
+    }
+
+    private static List<String> csv(String value) {
+        List<String> out = new ArrayList<>();
+        for (String s : value.split(",")) {
+            String t = s.trim();
+            if (!t.isEmpty()) out.add(t);
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    private static int[] ints(String value) {
+        List<String> parts = csv(value);
+        int[] out = new int[parts.size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = Integer.parseInt(parts.get(i));
+        }
+        return out;
+    }
+
+    public String name() { return name; }
+    public String baseUrl() { return baseUrl; }
+    public List<String> entities() { return entities; }
+    public int[] sizes() { return sizes.clone(); }
+    public List<String> operations() { return operations; }
+    public int[] concurrency() { return concurrency.clone(); }
+    public int warmup() { return warmup; }
+    /** Zero means unlimited. */
+    public Duration maxDuration() { return maxDuration; }
+    public List<String> sinks() { return sinks; }
+    public File outputDir() { return outputDir; }
+    public String csvFile() { return csvFile; }
+    /** Port for the live OpenMetrics scrape endpoint; negative disables it, 0 picks a free port. */
+    public int metricsPort() { return metricsPort; }
+    /** Address the scrape endpoint binds to; loopback unless widened explicitly, e.g. to {@code 0.0.0.0}. */
+    public String metricsHost() { return metricsHost; }
+    /** Where the {@code openmetrics} sink dumps the final metrics. */
+    public File metricsFile() { return new File(outputDir, name + "-metrics.prom"); }
+    /** Fault profile to run the plan through a {@code FaultProxy} with; empty for direct requests. */
+    public String fault() { return fault; }
+    /** Requests per operation timed against a zero-work responder before each cell; 0 (the default) skips calibration. */
+    public int calibrationIterations() { return calibrationIterations; }
+    /** Harness overhead above this share of a measured mean marks the row as not trusted. */
+    public double calibrationMaxShare() { return calibrationMaxShare; }
+    /** Client connect timeout per request; 0 keeps the HTTP client's default (none). */
+    public int connectTimeoutMs() { return connectTimeoutMs; }
+    /** Client socket read timeout per request; 0 keeps the HTTP client's default (none). */
+    public int readTimeoutMs() { return readTimeoutMs; }
+    /**
+     * Second service (B) to compare against {@link #baseUrl()} (A); when set the plan runs as an
+     * interleaved A/B comparison instead of a plain sweep. Equal URLs give an A/A run, a noise check.
+     */
+    public String compareBaseUrl() { return compareBaseUrl; }
+    /** Least number of request pairs per operation and cell in an A/B run; small sizes are topped up. */
+    public int compareMinPairs() { return compareMinPairs; }
+    public String compareCsvFile() { return compareCsvFile; }
+    /** When set, progress is checkpointed to {@code <outputDir>/<name>.checkpoint} and a rerun resumes from it. */
+    public boolean checkpoint() { return checkpoint; }
+    /**
+     * Fixed sampling times each operation once per entity in the cell. Adaptive sampling keeps timing
+     * until the confidence interval of {@link #adaptiveStatistic()} is narrower than
+     * {@link #adaptiveTargetRelativeWidth()} or {@link #adaptiveMaxSamples()} is reached.
+     */
+    public boolean adaptive() { return adaptive; }
+    /** {@code mean} or a percentile such as {@code p99}; also the statistic whose CI goes into the CSV. */
+    public String adaptiveStatistic() { return adaptiveStatistic; }
+    public double adaptiveConfidence() { return adaptiveConfidence; }
+    public double adaptiveTargetRelativeWidth() { return adaptiveTargetRelativeWidth; }
+    public int adaptiveMinSamples() { return adaptiveMinSamples; }
+    public int adaptiveMaxSamples() { return adaptiveMaxSamples; }
+}
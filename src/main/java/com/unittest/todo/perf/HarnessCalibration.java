@@ -0,0 +1,115 @@
+package com.unittest.todo.perf;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.unittest.todo.perf.CsvFormat.round0;
+import static com.unittest.todo.perf.CsvFormat.round4;
+
+/**
+ * The harness's own fixed cost per request: the plan's operations are issued through the same
+ * {@link PerfEngine} code paths (spec building, body strings, id extraction, metrics) against a
+ * {@link ZeroWorkResponder} on loopback, one thread, closed loop. The mean is what the client adds to
+ * every measured latency; its inverse is the most requests per second one harness thread can issue.
+ * Measured single-threaded, so at higher concurrency it is a lower bound. The client keeps getting
+ * faster for thousands of requests as the JIT compiles RestAssured and Groovy, so a calibration is only
+ * comparable with measurements taken right next to it; the engine calibrates before every cell.
+ */
+public final class HarnessCalibration {
+
+    private static final int WARMUP = 10;
+
+    private final String entity;
+    private final Map<String, LatencySamples> samples = new LinkedHashMap<>();
+    private final Map<String, Double> ratePerThread = new LinkedHashMap<>();
+    private final double maxShare;
+
+    private HarnessCalibration(String entity, double maxShare) {
+        this.entity = entity;
+        this.maxShare = maxShare;
+    }
+
+    /** Per operation: a few untimed requests to open the connection, then {@code iterations} timed ones. */
+    public static HarnessCalibration run(ExperimentPlan plan, String entity, int iterations) throws IOException {
+        if (iterations < 1) throw new IllegalArgumentException("Calibration needs at least one iteration");
+        HarnessCalibration cal = new HarnessCalibration(entity, plan.calibrationMaxShare());
+        PerfEngine engine = new PerfEngine(plan, ZeroWorkResponder.shared().baseUrl());
+        for (String op : plan.operations()) {
+            LatencySamples discard = new LatencySamples();
+            for (int i = 0; i < WARMUP; i++) engine.calibrationRequest(entity, op, discard);
+
+            LatencySamples s = new LatencySamples();
+            long t0 = System.nanoTime();
+            for (int i = 0; i < iterations; i++) engine.calibrationRequest(entity, op, s);
+            double elapsedSec = (System.nanoTime() - t0) / 1e9;
+            cal.samples.put(op, s);
+            cal.ratePerThread.put(op, elapsedSec > 0 ? iterations / elapsedSec : Double.NaN);
+        }
+        return cal;
+    }
+
+    public String entity() { return entity; }
+
+    public double meanMs(String op) {
+        LatencySamples s = samples.get(op);
+        return s == null ? Double.NaN : s.meanMs();
+    }
+
+    public double percentileMs(String op, double p) {
+        LatencySamples s = samples.get(op);
+        return s == null ? Double.NaN : s.percentileMs(p);
+    }
+
+    public int count(String op) {
+        LatencySamples s = samples.get(op);
+        return s == null ? 0 : s.count();
+    }
+
+    /** Client bytes allocated per request, the harness's allocation budget for {@code op}. */
+    public double allocatedBytesPerRequest(String op) {
+        LatencySamples s = samples.get(op);
+        return s == null ? Double.NaN : s.allocatedBytesPerRequest();
+    }
+
+    /** Requests per second one thread managed against the zero-work responder. */
+    public double maxRatePerThread(String op) {
+        Double r = ratePerThread.get(op);
+        return r == null ? Double.NaN : r;
+    }
+
+    /**
+     * Fraction of {@code measuredMeanMs} that is harness overhead. Close to 1 against a service that does
+     * almost no work (the stand-in); above 1 when the client got faster between calibration and cell.
+     */
+    public double share(String op, double measuredMeanMs) {
+        if (Double.isNaN(measuredMeanMs) || measuredMeanMs <= 0) return Double.NaN;
+        return meanMs(op) / measuredMeanMs;
+    }
+
+    /** False when the overhead exceeds the plan's {@code calibration.maxShare} of a measured mean. */
+    public boolean trusted(String op, double measuredMeanMs) {
+        double share = share(op, measuredMeanMs);
+        return Double.isNaN(share) || share <= maxShare;
+    }
+
+    public double maxShare() { return maxShare; }
+
+    public static String header() {
+        return "entity,operation,iterations,harness_mean_ms,harness_p50_ms,harness_p99_ms,max_rate_per_thread,harness_alloc_bytes_per_req";
+    }
+
+    /** One CSV row per operation, matching {@link #header()}. */
+    public Iterable<String> rows() {
+        Map<String, String> out = new LinkedHashMap<>();
+        for (String op : samples.keySet()) {
+            out.put(op, entity + "," + op + "," + count(op) + "," +
+                    round4(meanMs(op)) + "," + round4(percentileMs(op, 0.50)) + "," +
+                    round4(percentileMs(op, 0.99)) + "," +
+                    String.format(Locale.ROOT, "%.1f", maxRatePerThread(op)) + "," +
+                    round0(allocatedBytesPerRequest(op)));
+        }
+        return out.values();
+    }
+}
@@ -0,0 +1,161 @@
+package com.unittest.todo.perf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compact, thread-safe pool of live entity IDs for selecting update and delete targets. Canonical
+ * decimal IDs (what the service hands out) are stored as raw {@code long}s, anything else is interned
+ * once and stored as a negative handle, so a million IDs cost ~8 MB instead of a million strings.
+ * Uniform picks and removals are O(1): removal moves the last entry into the freed slot and never
+ * reallocates. Weighted picks use rejection against the largest weight, O(1) expected while the
+ * weights stay within a bounded ratio. {@link #sampleDistinct} draws without allocating.
+ */
+public final class IdPool {
+
+    /** Returned by the handle-based methods when the pool is empty. */
+    public static final long NO_ID = Long.MIN_VALUE;
+
+    private long[] handles;
+    private int[] weights;
+    private int size;
+    private int maxWeight = 1;
+
+    // Fallback for IDs that are not canonical non-negative longs; never shrinks
+    private final List<String> interned = new ArrayList<>();
+    private final Map<String, Integer> internedIndex = new HashMap<>();
+
+    public IdPool(int expected) {
+        handles = new long[Math.max(4, expected)];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(String id) {
+        add(id, 1);
+    }
+
+    /** Adds {@code id} with a relative selection weight for {@link #weightedId}; {@code weight >= 1}. */
+    public synchronized void add(String id, int weight) {
+        if (id == null || id.isEmpty()) throw new IllegalArgumentException("ID must not be empty");
+        if (weight < 1) throw new IllegalArgumentException("Weight must be >= 1: " + weight);
+        if (size == handles.length) {
+            handles = Arrays.copyOf(handles, size * 2);
+            if (weights != null) weights = Arrays.copyOf(weights, size * 2);
+        }
+        if (weight != 1 && weights == null) {
+            weights = new int[handles.length];
+            Arrays.fill(weights, 0, size, 1);
+        }
+        handles[size] = encode(id);
+        if (weights != null) weights[size] = weight;
+        maxWeight = Math.max(maxWeight, weight);
+        size++;
+    }
+
+    /** Uniformly chosen live ID, or {@code null} when empty. */
+    public synchronized String randomId(Random rand) {
+        return size == 0 ? null : id(handles[rand.nextInt(size)]);
+    }
+
+    /** Live ID chosen with probability proportional to its weight, or {@code null} when empty. */
+    public synchronized String weightedId(Random rand) {
+        if (size == 0) return null;
+        while (true) {
+            int i = rand.nextInt(size);
+            if (weights == null || rand.nextInt(maxWeight) < weights[i]) return id(handles[i]);
+        }
+    }
+
+    /** Removes and returns a uniformly chosen ID, or {@code null} when empty. */
+    public synchronized String takeRandom(Random rand) {
+        return size == 0 ? null : id(removeAt(rand.nextInt(size)));
+    }
+
+    /** Removes and returns the most recently added ID still in the pool (LIFO), or {@code null} when empty. */
+    public synchronized String takeLast() {
+        return size == 0 ? null : id(removeAt(size - 1));
+    }
+
+    /**
+     * Writes up to {@code k} distinct, uniformly chosen handles into {@code out} without removing them
+     * (a partial Fisher-Yates shuffle of the pool's own slots) and returns how many were written.
+     * Resolve them with {@link #id(long)}.
+     */
+    public synchronized int sampleDistinct(Random rand, long[] out, int k) {
+        int n = Math.min(Math.min(k, size), out.length);
+        for (int j = 0; j < n; j++) {
+            int last = size - 1 - j;
+            swap(rand.nextInt(last + 1), last);
+            out[j] = handles[last];
+        }
+        return n;
+    }
+
+    /** ID for a handle produced by this pool. */
+    public synchronized String id(long handle) {
+        if (handle == NO_ID) return null;
+        return handle >= 0 ? Long.toString(handle) : interned.get((int) (-handle - 1));
+    }
+
+    /** Snapshot of the live IDs, for checkpoints and cleanup; allocates, keep it off the measurement path. */
+    public synchronized List<String> toList() {
+        List<String> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) out.add(id(handles[i]));
+        return out;
+    }
+
+    private long removeAt(int i) {
+        long handle = handles[i];
+        int last = --size;
+        handles[i] = handles[last];
+        if (weights != null) weights[i] = weights[last];
+        return handle;
+    }
+
+    private void swap(int i, int j) {
+        long h = handles[i];
+        handles[i] = handles[j];
+        handles[j] = h;
+        if (weights != null) {
+            int w = weights[i];
+            weights[i] = weights[j];
+            weights[j] = w;
+        }
+    }
+
+    private long encode(String id) {
+        long numeric = parseCanonical(id);
+        if (numeric >= 0) return numeric;
+        Integer index = internedIndex.get(id);
+        if (index == null) {
+            index = interned.size();
+            interned.add(id);
+            internedIndex.put(id, index);
+        }
+        return -(long) index - 1;
+    }
+
+    /** Value of a canonical non-negative decimal that round-trips through {@link Long#toString}, else -1. */
+    static long parseCanonical(String id) {
+        int len = id.length();
+        if (len > 18 || (len > 1 && id.charAt(0) == '0')) return -1;
+        long value = 0;
+        for (int i = 0; i < len; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,63 @@
+package com.unittest.todo.perf;
+
+import java.util.Arrays;
+
+/**
+ * Growable, thread-safe list of latency samples in nanoseconds for one operation of one experiment cell,
+ * plus the client-side bytes allocated by every attempt (successful or not).
+ */
+public final class LatencySamples {
+
+    private long[] samplesNs = new long[64];
+    private int count;
+    private long allocatedBytes;
+    private int allocations;
+
+    public synchronized void record(long latencyNs) {
+        if (count == samplesNs.length) {
+            samplesNs = Arrays.copyOf(samplesNs, count * 2);
+        }
+        samplesNs[count++] = latencyNs;
+    }
+
+    /** Bytes the issuing thread allocated for one request; ignored when negative (unsupported JVM). */
+    public synchronized void recordAllocation(long bytes) {
+        if (bytes < 0) return;
+        allocatedBytes += bytes;
+        allocations++;
+    }
+
+    public synchronized double allocatedBytesPerRequest() {
+        return allocations == 0 ? Double.NaN : (double) allocatedBytes / allocations;
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    /** Most recently recorded sample, or -1 when there is none. */
+    public synchronized long lastNs() {
+        return count == 0 ? -1L : samplesNs[count - 1];
+    }
+
+    public synchronized double meanMs() {
+        if (count == 0) return Double.NaN;
+        long total = 0L;
+        for (int i = 0; i < count; i++) total += samplesNs[i];
+        return total / 1_000_000.0 / count;
+    }
+
+    /** Nearest-rank percentile, {@code p} in [0, 1]. */
+    public synchronized double percentileMs(double p) {
+        if (count == 0) return Double.NaN;
+        long[] sorted = Arrays.copyOf(samplesNs, count);
+        Arrays.sort(sorted);
+        int idx = (int) Math.ceil(p * count) - 1;
+        idx = Math.max(0, Math.min(count - 1, idx));
+        return sorted[idx] / 1_000_000.0;
+    }
+
+    public synchronized long[] toArray() {
+        return Arrays.copyOf(samplesNs, count);
+    }
+}
@@ -0,0 +1,56 @@
+package com.unittest.todo.perf;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal scrape endpoint serving {@link PerfMetrics} at {@code GET /metrics} for the duration of a run.
+ * Binds to the plan's {@code metrics.host}, loopback by default, so a run does not expose it on every
+ * interface of the load machine.
+ */
+public final class MetricsEndpoint implements AutoCloseable {
+
+    private final HttpServer server;
+
+    private MetricsEndpoint(HttpServer server) {
+        this.server = server;
+    }
+
+    public static MetricsEndpoint start(PerfMetrics metrics, String host, int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext("/metrics", exchange -> {
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            try (OutputStreamWriter w = new OutputStreamWriter(buf, StandardCharsets.UTF_8)) {
+                metrics.writeOpenMetrics(w);
+            }
+            byte[] body = buf.toByteArray();
+            exchange.getResponseHeaders().set("Content-Type", PerfMetrics.CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        System.out.println("# OpenMetrics scrape endpoint on http://" + host + ":" + server.getAddress().getPort() + "/metrics");
+        return new MetricsEndpoint(server);
+    }
+
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
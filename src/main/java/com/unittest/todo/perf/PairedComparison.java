@@ -0,0 +1,265 @@
+package com.unittest.todo.perf;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.unittest.todo.perf.CsvFormat.localTime;
+import static com.unittest.todo.perf.CsvFormat.round4;
+
+/**
+ * Interleaved A/B comparison of two services: {@code baseUrl} (A) and {@code compare.baseUrl} (B).
+ * Every timed request is issued as a pair, one to each side back to back in a coin-flip order, so
+ * machine noise, JIT state and GC hit both sides alike and cancel in the per-pair difference B - A.
+ * Each side keeps its own entities; a pair counts only when both requests succeed. One row per
+ * entity, concurrency, size and operation goes to {@code compare.csv.file} with the mean and median
+ * paired difference, their confidence intervals ({@code adaptive.confidence}) and a verdict, followed by
+ * each side's own request successes, failures and goodput (successes per second of the phase).
+ * Fault profiles, checkpoints and calibration do not apply: harness overhead is the same on both
+ * sides and drops out of the difference.
+ */
+final class PairedComparison {
+
+    private final ExperimentPlan plan;
+    private final PerfEngine a;
+    private final PerfEngine b;
+    private final PrintWriter stdout = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), true);
+
+    PairedComparison(ExperimentPlan plan) {
+        this.plan = plan;
+        this.a = new PerfEngine(plan, plan.baseUrl());
+        this.b = new PerfEngine(plan, plan.compareBaseUrl());
+    }
+
+    /** One side's request of a pair; returns whether it succeeded. */
+    private interface SideCall {
+        boolean call(boolean sideA);
+    }
+
+    void run() throws IOException, InterruptedException {
+        List<PrintWriter> sinks = openSinks();
+        try {
+            emit(sinks, header());
+            long deadlineNs = plan.maxDuration().isZero() ? Long.MAX_VALUE : System.nanoTime() + plan.maxDuration().toNanos();
+            for (String entity : plan.entities()) {
+                a.warmUp(entity);
+                b.warmUp(entity);
+                for (int threads : plan.concurrency()) {
+                    ExecutorService pool = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+                    try {
+                        for (int size : plan.sizes()) {
+                            if (System.nanoTime() > deadlineNs) {
+                                System.out.println("# plan '" + plan.name() + "' reached maxDurationSeconds=" + plan.maxDuration().getSeconds() + ", stopping");
+                                return;
+                            }
+                            for (String row : runCell(entity, threads, size, pool)) emit(sinks, row);
+                        }
+                    } finally {
+                        if (pool != null) pool.shutdownNow();
+                    }
+                }
+            }
+        } finally {
+            for (PrintWriter pw : sinks) {
+                if (pw != stdout) pw.close();
+            }
+        }
+    }
+
+    private List<String> runCell(String entity, int threads, int size, ExecutorService pool) throws InterruptedException {
+        IdPool idsA = new IdPool(size);
+        IdPool idsB = new IdPool(size);
+        List<String> rows = new ArrayList<>();
+        try {
+            for (String op : plan.operations()) {
+                long timestampStartMs = System.currentTimeMillis();
+                Pairs pairs = new Pairs();
+                long t0 = System.nanoTime();
+                runPhase(entity, op, size, idsA, idsB, pairs, threads, pool);
+                double phaseSec = (System.nanoTime() - t0) / 1_000_000_000.0;
+                rows.add(row(timestampStartMs, entity, threads, size, op, pairs, phaseSec));
+            }
+        } finally {
+            // Both sides end the cell empty so cells and sides do not leak into each other
+            for (String id = idsA.takeLast(); id != null; id = idsA.takeLast()) a.deleteUntimed(entity, id);
+            for (String id = idsB.takeLast(); id != null; id = idsB.takeLast()) b.deleteUntimed(entity, id);
+        }
+        return rows;
+    }
+
+    private void runPhase(String entity, String op, int size, IdPool idsA, IdPool idsB, Pairs pairs,
+                          int threads, ExecutorService pool) throws InterruptedException {
+        int target = Math.max(size, plan.compareMinPairs());
+        int maxAttempts = target * 5;
+        AtomicInteger attempts = new AtomicInteger();
+        PerfEngine.runConcurrently(threads, pool, () -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            // Per worker, so each side's last sample is always the latency this worker just measured
+            LatencySamples samplesA = new LatencySamples();
+            LatencySamples samplesB = new LatencySamples();
+            String[] created = new String[2];
+            while (pairs.count() < target && attempts.incrementAndGet() <= maxAttempts) {
+                if ("create".equals(op)) {
+                    created[0] = null;
+                    created[1] = null;
+                    pair(rnd, pairs, samplesA, samplesB, sideA -> {
+                        String id = sideA
+                                ? a.timedCreate(entity, samplesA, pairs.outcomes(true))
+                                : b.timedCreate(entity, samplesB, pairs.outcomes(false));
+                        created[sideA ? 0 : 1] = id;
+                        return id != null;
+                    });
+                    // Outside the pair: beyond the nominal size extra creates are undone untimed
+                    keepOrUndo(a, entity, idsA, size, created[0]);
+                    keepOrUndo(b, entity, idsB, size, created[1]);
+                } else if ("delete".equals(op)) {
+                    String idA = idsA.takeRandom(rnd);
+                    String idB = idsB.takeRandom(rnd);
+                    // Once a side's own entities are gone, deletes continue on fresh untimed creates
+                    String targetA = idA != null ? idA : a.createUntimed(entity);
+                    String targetB = idB != null ? idB : b.createUntimed(entity);
+                    if (targetA == null || targetB == null) {
+                        if (targetA != null) a.deleteUntimed(entity, targetA);
+                        if (targetB != null) b.deleteUntimed(entity, targetB);
+                        pairs.failed();
+                        continue;
+                    }
+                    pair(rnd, pairs, samplesA, samplesB, sideA -> {
+                        int status = sideA
+                                ? a.timedRequest(entity, op, targetA, samplesA, pairs.outcomes(true))
+                                : b.timedRequest(entity, op, targetB, samplesB, pairs.outcomes(false));
+                        return status >= 200 && status < 300;
+                    });
+                } else {
+                    String idA = idsA.randomId(rnd);
+                    String idB = idsB.randomId(rnd);
+                    if (idA == null || idB == null) {
+                        // A side with no entities left to target is a failed pair, not a finished worker
+                        pairs.failed();
+                        continue;
+                    }
+                    pair(rnd, pairs, samplesA, samplesB, sideA -> {
+                        int status = sideA
+                                ? a.timedRequest(entity, op, idA, samplesA, pairs.outcomes(true))
+                                : b.timedRequest(entity, op, idB, samplesB, pairs.outcomes(false));
+                        return status >= 200 && status < 300;
+                    });
+                }
+            }
+        });
+    }
+
+    private static void keepOrUndo(PerfEngine engine, String entity, IdPool ids, int size, String id) {
+        if (id == null) return;
+        if (ids.size() < size) ids.add(id);
+        else engine.deleteUntimed(entity, id);
+    }
+
+    /**
+     * Issues both sides in random order; both are always sent so the load stays symmetric. A side
+     * succeeds only when the engine recorded its latency, so the pair takes each side's last sample:
+     * the engine's own request timing, without anything the call does around it.
+     */
+    private static void pair(Random rnd, Pairs pairs, LatencySamples samplesA, LatencySamples samplesB, SideCall call) {
+        boolean aFirst = rnd.nextBoolean();
+        boolean ok = call.call(aFirst);
+        ok &= call.call(!aFirst);
+        if (ok) pairs.record(samplesA.lastNs(), samplesB.lastNs());
+        else pairs.failed();
+    }
+
+    private String row(long timestampStartMs, String entity, int threads, int size, String op, Pairs pairs, double phaseSec) {
+        String startLocal = localTime(timestampStartMs);
+        PairedDifference d = PairedDifference.of(pairs.aNs(), pairs.bNs(), plan.adaptiveConfidence());
+        return timestampStartMs + "," + startLocal + "," + entity + "," + threads + "," + size + "," + op + "," +
+                d.pairs() + "," + pairs.failedCount() + "," +
+                round4(d.aMeanMs()) + "," + round4(d.bMeanMs()) + "," +
+                round4(d.mean().estimateMs()) + "," + round4(d.mean().lowMs()) + "," +
+                round4(d.mean().highMs()) + "," +
+                round4(d.median().estimateMs()) + "," + round4(d.median().lowMs()) + "," +
+                round4(d.median().highMs()) + "," +
+                round4(d.relativeChange()) + "," + round4(d.bSlowerShare()) + "," + d.verdict() + "," +
+                side(pairs.outcomes(true), phaseSec) + "," + side(pairs.outcomes(false), phaseSec);
+    }
+
+    private static String side(RequestOutcomes o, double phaseSec) {
+        return o.successes() + "," + o.failures() + "," + round4(phaseSec > 0 ? o.successes() / phaseSec : Double.NaN);
+    }
+
+    private static String header() {
+        return "timestamp_start_ms,start_time_local,entity,concurrency,size,operation,pairs,failed_pairs," +
+                "a_mean_ms,b_mean_ms,diff_mean_ms,diff_mean_ci_lo_ms,diff_mean_ci_hi_ms," +
+                "diff_median_ms,diff_median_ci_lo_ms,diff_median_ci_hi_ms,relative_change,b_slower_share,verdict," +
+                "a_ok,a_failed,a_goodput_per_sec,b_ok,b_failed,b_goodput_per_sec";
+    }
+
+    private List<PrintWriter> openSinks() throws IOException {
+        List<PrintWriter> out = new ArrayList<>();
+        if (plan.sinks().contains("stdout")) {
+            out.add(stdout);
+        }
+        if (plan.sinks().contains("csv")) {
+            File dir = plan.outputDir();
+            if (!dir.exists()) dir.mkdirs();
+            File csv = new File(dir, plan.compareCsvFile());
+            out.add(new PrintWriter(new OutputStreamWriter(new FileOutputStream(csv, false), StandardCharsets.UTF_8)));
+        }
+        return out;
+    }
+
+    private static void emit(List<PrintWriter> sinks, String line) {
+        for (PrintWriter pw : sinks) {
+            pw.println(line);
+            pw.flush();
+        }
+    }
+
+    /** Successful pairs of one operation in one cell, plus each side's request outcomes. */
+    private static final class Pairs {
+        private final LatencySamples a = new LatencySamples();
+        private final LatencySamples b = new LatencySamples();
+        private final RequestOutcomes outcomesA = new RequestOutcomes();
+        private final RequestOutcomes outcomesB = new RequestOutcomes();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        synchronized void record(long aNs, long bNs) {
+            a.record(aNs);
+            b.record(bNs);
+        }
+
+        void failed() {
+            failed.incrementAndGet();
+        }
+
+        int failedCount() {
+            return failed.get();
+        }
+
+        int count() {
+            return a.count();
+        }
+
+        // Read after the phase's workers have finished; record() keeps a and b index-aligned
+        long[] aNs() {
+            return a.toArray();
+        }
+
+        long[] bNs() {
+            return b.toArray();
+        }
+
+        RequestOutcomes outcomes(boolean sideA) {
+            return sideA ? outcomesA : outcomesB;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.unittest.todo.perf;
+
+/**
+ * Statistics of paired latency differences {@code B - A}: the mean difference with a Student-t
+ * interval and the median difference with its distribution-free interval. A verdict is only given
+ * when the mean interval excludes zero.
+ */
+final class PairedDifference {
+
+    private final int pairs;
+    private final double aMeanMs;
+    private final double bMeanMs;
+    private final ConfidenceInterval mean;
+    private final ConfidenceInterval median;
+    private final double bSlowerShare;
+
+    private PairedDifference(int pairs, double aMeanMs, double bMeanMs, ConfidenceInterval mean,
+                             ConfidenceInterval median, double bSlowerShare) {
+        this.pairs = pairs;
+        this.aMeanMs = aMeanMs;
+        this.bMeanMs = bMeanMs;
+        this.mean = mean;
+        this.median = median;
+        this.bSlowerShare = bSlowerShare;
+    }
+
+    /** {@code aNs[i]} and {@code bNs[i]} are the two latencies of pair {@code i}. */
+    static PairedDifference of(long[] aNs, long[] bNs, double confidence) {
+        if (aNs.length != bNs.length) {
+            throw new IllegalArgumentException("Pairs need as many A as B samples: " + aNs.length + " vs " + bNs.length);
+        }
+        int n = aNs.length;
+        long[] diffs = new long[n];
+        double sumA = 0;
+        double sumB = 0;
+        int bSlower = 0;
+        for (int i = 0; i < n; i++) {
+            diffs[i] = bNs[i] - aNs[i];
+            sumA += aNs[i];
+            sumB += bNs[i];
+            if (diffs[i] > 0) bSlower++;
+        }
+        return new PairedDifference(n,
+                n == 0 ? Double.NaN : sumA / n / 1e6,
+                n == 0 ? Double.NaN : sumB / n / 1e6,
+                ConfidenceInterval.forMean(diffs, confidence),
+                ConfidenceInterval.forQuantile(diffs, 0.5, confidence),
+                n == 0 ? Double.NaN : (double) bSlower / n);
+    }
+
+    int pairs() { return pairs; }
+    double aMeanMs() { return aMeanMs; }
+    double bMeanMs() { return bMeanMs; }
+    /** Mean of {@code B - A} per pair, in ms. */
+    ConfidenceInterval mean() { return mean; }
+    /** Median of {@code B - A} per pair, in ms; robust against a few outlier pairs. */
+    ConfidenceInterval median() { return median; }
+    /** Share of pairs in which B was slower than A. */
+    double bSlowerShare() { return bSlowerShare; }
+
+    /** Mean difference relative to A's mean latency, e.g. 0.10 when B is 10% slower. */
+    double relativeChange() {
+        return aMeanMs > 0 ? mean.estimateMs() / aMeanMs : Double.NaN;
+    }
+
+    /** {@code b_slower} or {@code b_faster} when the mean interval excludes zero, else {@code no_difference}. */
+    String verdict() {
+        if (pairs < 2) return "insufficient";
+        if (mean.lowMs() > 0) return "b_slower";
+        if (mean.highMs() < 0) return "b_faster";
+        return "no_difference";
+    }
+}
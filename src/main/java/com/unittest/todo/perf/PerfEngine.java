@@ -0,0 +1,582 @@
+package com.unittest.todo.perf;
+
+import com.unittest.todo.fault.FaultProfile;
+import com.unittest.todo.fault.FaultProxy;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.unittest.todo.perf.CsvFormat.localTime;
+import static com.unittest.todo.perf.CsvFormat.round0;
+import static com.unittest.todo.perf.CsvFormat.round4;
+import static io.restassured.RestAssured.given;
+
+/**
+ * Runs an {@link ExperimentPlan}: for every entity, concurrency level and size it creates {@code size}
+ * entities, then runs the remaining planned operations over them and writes one row per cell.
+ * A plan with {@code compare.baseUrl} runs as a {@link PairedComparison} instead.
+ */
+public final class PerfEngine {
+
+    /** Live IDs of the cell in flight reach the checkpoint at least this often during a create phase. */
+    private static final int CHECKPOINT_EVERY_CREATES = 50;
+    private static final PrintWriter STDOUT = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), true);
+
+    private final ExperimentPlan plan;
+    private final Random rand = new Random(42);
+    private final PerfMetrics metrics = new PerfMetrics();
+    private final RestAssuredConfig clientConfig;
+    private final RequestOutcomes calibrationOutcomes = new RequestOutcomes();
+    private volatile String target;
+
+    public PerfEngine(ExperimentPlan plan) {
+        this(plan, plan.baseUrl());
+    }
+
+    /** Engine aimed at {@code target} instead of the plan's base URL, for calibration. */
+    PerfEngine(ExperimentPlan plan, String target) {
+        this.plan = plan;
+        this.target = target;
+        this.clientConfig = clientConfig(plan);
+    }
+
+    public void run() throws IOException, InterruptedException {
+        if (!plan.compareBaseUrl().isEmpty()) {
+            new PairedComparison(plan).run();
+            return;
+        }
+        Checkpoint checkpoint = plan.checkpoint()
+                ? Checkpoint.load(new File(plan.outputDir(), plan.name() + ".checkpoint"), plan.name())
+                : null;
+        boolean resuming = checkpoint != null && !checkpoint.isEmpty();
+        if (resuming) resume(checkpoint);
+
+        boolean csvExists = new File(plan.outputDir(), plan.csvFile()).isFile();
+        List<PrintWriter> sinks = openSinks(resuming);
+        MetricsEndpoint endpoint = plan.metricsPort() >= 0 ? MetricsEndpoint.start(metrics, plan.metricsHost(), plan.metricsPort()) : null;
+        FaultProxy proxy = plan.fault().isEmpty() ? null : FaultProxy.start(plan.baseUrl(), FaultProfile.load(plan.fault()), 0);
+        if (proxy != null) target = proxy.baseUrl();
+        try {
+            if (!resuming || !csvExists) emit(sinks, header());
+            long deadlineNs = plan.maxDuration().isZero() ? Long.MAX_VALUE : System.nanoTime() + plan.maxDuration().toNanos();
+
+            boolean appendCalibration = resuming;
+            for (String entity : plan.entities()) {
+                warmUp(entity);
+                for (int threads : plan.concurrency()) {
+                    ExecutorService pool = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+                    try {
+                        for (int size : plan.sizes()) {
+                            String cell = Checkpoint.cellKey(entity, threads, size);
+                            if (checkpoint != null && checkpoint.isCompleted(cell)) continue;
+                            if (System.nanoTime() > deadlineNs) {
+                                System.out.println("# plan '" + plan.name() + "' reached maxDurationSeconds=" + plan.maxDuration().getSeconds() + ", stopping");
+                                return;
+                            }
+                            HarnessCalibration calibration = null;
+                            if (plan.calibrationIterations() > 0) {
+                                calibration = HarnessCalibration.run(plan, entity, plan.calibrationIterations());
+                                writeCalibration(calibration, threads, size, appendCalibration);
+                                appendCalibration = true;
+                            }
+                            emit(sinks, runCell(entity, threads, size, pool, checkpoint, calibration));
+                            metrics.cellCompleted();
+                            // A crash right before this leaves the row emitted; resume() then keeps it
+                            if (checkpoint != null) checkpoint.cellDone(cell);
+                        }
+                    } finally {
+                        if (pool != null) pool.shutdownNow();
+                    }
+                }
+            }
+            if (checkpoint != null) checkpoint.delete();
+        } finally {
+            for (PrintWriter pw : sinks) {
+                if (pw != STDOUT) pw.close();
+            }
+            if (endpoint != null) endpoint.close();
+            if (proxy != null) {
+                System.out.println("# " + proxy.summary());
+                proxy.close();
+                target = plan.baseUrl();
+            }
+            if (plan.sinks().contains("openmetrics")) metrics.dump(plan.metricsFile());
+        }
+    }
+
+    /** Live counters and histograms of this engine's requests. */
+    public PerfMetrics metrics() {
+        return metrics;
+    }
+
+    private String header() {
+        StringBuilder sb = new StringBuilder("timestamp_start_ms,start_time_local,timestamp_end_ms,entity,concurrency,size,iterations");
+        String stat = plan.adaptiveStatistic();
+        for (String op : plan.operations()) {
+            sb.append(',').append(op).append("_avg_ms")
+                    .append(',').append(op).append("_p99_ms")
+                    .append(',').append(op).append("_n")
+                    .append(',').append(op).append('_').append(stat).append("_ci_lo_ms")
+                    .append(',').append(op).append('_').append(stat).append("_ci_hi_ms")
+                    .append(',').append(op).append('_').append(stat).append("_ci_rel_width")
+                    .append(',').append(op).append("_harness_ms")
+                    .append(',').append(op).append("_harness_share")
+                    .append(',').append(op).append("_alloc_bytes_per_req")
+                    .append(',').append(op).append("_ok")
+                    .append(',').append(op).append("_failed")
+                    .append(',').append(op).append("_failed_avg_ms")
+                    .append(',').append(op).append("_failed_p99_ms")
+                    .append(',').append(op).append("_throughput_per_sec")
+                    .append(',').append(op).append("_goodput_per_sec");
+        }
+        sb.append(",total_ms,harness_trusted,gc_count,gc_collection_time_ms,gc_collection_time_share,throughput_per_sec,goodput_per_sec,outcomes");
+        return sb.toString();
+    }
+
+    /**
+     * Removes what the interrupted cell left on the service; that cell then reruns from scratch, unless its
+     * row already reached the CSV and only the checkpoint update after it was lost.
+     */
+    private void resume(Checkpoint checkpoint) throws IOException {
+        String cell = checkpoint.partialCell();
+        System.out.println("# resuming plan '" + plan.name() + "'" + (cell.isEmpty() ? "" : ", cleaning up partial cell " + cell));
+        if (cell.isEmpty()) return;
+        String entity = cell.substring(0, cell.indexOf('|'));
+        for (String id : checkpoint.partialLiveIds()) {
+            deleteUntimed(entity, id);
+        }
+        if (csvHasRow(cell)) checkpoint.cellDone(cell);
+    }
+
+    private boolean csvHasRow(String cell) throws IOException {
+        File csv = new File(plan.outputDir(), plan.csvFile());
+        if (!plan.sinks().contains("csv") || !csv.isFile()) return false;
+        String[] key = cell.split("\\|");
+        for (String line : Files.readAllLines(csv.toPath(), StandardCharsets.UTF_8)) {
+            // timestamp_start_ms,start_time_local,timestamp_end_ms,entity,concurrency,size,...
+            String[] cols = line.split(",", 7);
+            if (cols.length == 7 && cols[3].equals(key[0]) && cols[4].equals(key[1]) && cols[5].equals(key[2])) return true;
+        }
+        return false;
+    }
+
+    private String runCell(String entity, int threads, int size, ExecutorService pool, Checkpoint checkpoint,
+                           HarnessCalibration calibration) throws IOException, InterruptedException {
+        String cell = Checkpoint.cellKey(entity, threads, size);
+        IdPool ids = new IdPool(size);
+        Map<String, LatencySamples> stats = new LinkedHashMap<>();
+        Map<String, RequestOutcomes> outcomes = new LinkedHashMap<>();
+        Map<String, Long> phaseNs = new LinkedHashMap<>();
+
+        long timestampStartMs = System.currentTimeMillis();
+        String startLocal = localTime(timestampStartMs);
+        AllocationMeter.GcTotals gc0 = AllocationMeter.gcTotals();
+        long tAll0 = System.nanoTime();
+        if (checkpoint != null) checkpoint.cellStarted(cell);
+        for (String op : plan.operations()) {
+            LatencySamples samples = new LatencySamples();
+            RequestOutcomes phaseOutcomes = new RequestOutcomes();
+            stats.put(op, samples);
+            outcomes.put(op, phaseOutcomes);
+            long tPhase0 = System.nanoTime();
+            runPhase(entity, op, size, ids, samples, phaseOutcomes, threads, pool, checkpoint);
+            phaseNs.put(op, System.nanoTime() - tPhase0);
+            if (checkpoint != null) {
+                checkpoint.phaseDone(cell, op, ids.toList());
+            }
+        }
+        long totalMsAll = Duration.ofNanos(System.nanoTime() - tAll0).toMillis();
+        AllocationMeter.GcTotals gc = AllocationMeter.gcTotals().since(gc0);
+        long timestampEndMs = System.currentTimeMillis();
+
+        // Anything the plan did not delete is removed untimed so cells do not leak into each other
+        for (String id = ids.takeLast(); id != null; id = ids.takeLast()) {
+            deleteUntimed(entity, id);
+        }
+
+        StringBuilder line = new StringBuilder();
+        line.append(timestampStartMs).append(',').append(startLocal).append(',').append(timestampEndMs).append(',')
+                .append(entity).append(',').append(threads).append(',').append(size).append(',')
+                .append(stats.get("create").count());
+        boolean trusted = true;
+        long attemptsAll = 0L;
+        long successesAll = 0L;
+        StringBuilder outcomeSummary = new StringBuilder();
+        for (Map.Entry<String, LatencySamples> e : stats.entrySet()) {
+            String op = e.getKey();
+            LatencySamples s = e.getValue();
+            RequestOutcomes o = outcomes.get(op);
+            double phaseSec = phaseNs.get(op) / 1e9;
+            attemptsAll += o.attempts();
+            successesAll += o.successes();
+            for (Map.Entry<String, Long> c : o.counts().entrySet()) {
+                if (outcomeSummary.length() > 0) outcomeSummary.append(';');
+                outcomeSummary.append(op).append('.').append(c.getKey()).append('=').append(c.getValue());
+            }
+            ConfidenceInterval ci = ConfidenceInterval.of(plan.adaptiveStatistic(), s.toArray(), plan.adaptiveConfidence());
+            line.append(',').append(round4(s.meanMs()))
+                    .append(',').append(round4(s.percentileMs(0.99)))
+                    .append(',').append(s.count())
+                    .append(',').append(round4(ci.lowMs()))
+                    .append(',').append(round4(ci.highMs()))
+                    .append(',').append(round4(ci.relativeWidth()))
+                    .append(',').append(calibration == null ? "" : round4(calibration.meanMs(op)))
+                    .append(',').append(calibration == null ? "" : round4(calibration.share(op, s.meanMs())))
+                    .append(',').append(round0(s.allocatedBytesPerRequest()))
+                    .append(',').append(o.successes())
+                    .append(',').append(o.failures())
+                    .append(',').append(round4(o.failureLatencies().meanMs()))
+                    .append(',').append(round4(o.failureLatencies().percentileMs(0.99)))
+                    .append(',').append(round4(phaseSec > 0 ? o.attempts() / phaseSec : Double.NaN))
+                    .append(',').append(round4(phaseSec > 0 ? o.successes() / phaseSec : Double.NaN));
+            if (calibration != null && !calibration.trusted(op, s.meanMs())) trusted = false;
+        }
+        line.append(',').append(totalMsAll)
+                .append(',').append(calibration == null ? "" : String.valueOf(trusted))
+                .append(',').append(gc.count())
+                .append(',').append(gc.collectionTimeMs())
+                .append(',').append(round4(totalMsAll > 0 ? (double) gc.collectionTimeMs() / totalMsAll : Double.NaN))
+                .append(',').append(round4(totalMsAll > 0 ? attemptsAll * 1000.0 / totalMsAll : Double.NaN))
+                .append(',').append(round4(totalMsAll > 0 ? successesAll * 1000.0 / totalMsAll : Double.NaN))
+                .append(',').append(outcomeSummary);
+        if (!trusted) {
+            System.out.println("# WARNING: harness overhead exceeds " + round4(calibration.maxShare())
+                    + " of the measured mean in cell " + cell + "; treat its latencies as client-bound");
+        }
+        return line.toString();
+    }
+
+    private void runPhase(String entity, String op, int size, IdPool ids, LatencySamples samples,
+                          RequestOutcomes outcomes, int threads, ExecutorService pool,
+                          Checkpoint checkpoint) throws InterruptedException {
+        if ("create".equals(op)) {
+            AtomicInteger attempts = new AtomicInteger();
+            AtomicInteger created = new AtomicInteger();
+            // Each worker reserves a slot before it creates, so concurrent workers never overshoot the size
+            AtomicInteger reserved = new AtomicInteger(ids.size());
+            int maxAttempts = size * 5;
+            runConcurrently(threads, pool, () -> {
+                while (reserved.getAndUpdate(n -> n < size ? n + 1 : n) < size) {
+                    if (attempts.incrementAndGet() > maxAttempts) {
+                        reserved.decrementAndGet();
+                        break;
+                    }
+                    String id = timedCreate(entity, samples, outcomes);
+                    if (id == null) {
+                        reserved.decrementAndGet();
+                        continue;
+                    }
+                    ids.add(id);
+                    // A crash mid-phase then leaks at most CHECKPOINT_EVERY_CREATES - 1 entities
+                    if (checkpoint != null && created.incrementAndGet() % CHECKPOINT_EVERY_CREATES == 0) {
+                        saveLiveIds(checkpoint, ids);
+                    }
+                }
+            });
+            if (plan.adaptive()) {
+                // Store is at its nominal size now; extra create samples get an untimed delete to keep it there
+                SampleController more = SampleController.adaptive(plan);
+                runConcurrently(threads, pool, () -> {
+                    while (more.needMore(samples)) {
+                        String id = timedCreate(entity, samples, outcomes);
+                        if (id != null) deleteUntimed(entity, id);
+                    }
+                });
+            }
+            return;
+        }
+
+        int live = ids.size();
+        if (live == 0) return;
+        SampleController controller = plan.adaptive()
+                ? SampleController.adaptive(plan)
+                : SampleController.fixed(live, plan);
+        // Fixed sampling walks a shuffled snapshot so every live entity is timed exactly once;
+        // adaptive sampling has no such count and draws uniformly with replacement
+        long[] order = plan.adaptive() || "delete".equals(op) ? null : new long[live];
+        if (order != null) ids.sampleDistinct(ThreadLocalRandom.current(), order, live);
+        AtomicInteger cursor = new AtomicInteger();
+        // IDs whose delete failed go back only after the phase, so no thread times them twice
+        IdPool failedDeletes = new IdPool(16);
+        runConcurrently(threads, pool, () -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            while (controller.needMore(samples)) {
+                if (!"delete".equals(op)) {
+                    String id;
+                    if (order != null) {
+                        int i = cursor.getAndIncrement();
+                        if (i >= order.length) return;
+                        id = ids.id(order[i]);
+                    } else {
+                        id = ids.randomId(rnd);
+                    }
+                    if (id == null) return;
+                    timedRequest(entity, op, id, samples, outcomes);
+                    continue;
+                }
+                String id = ids.takeRandom(rnd);
+                if (id != null) {
+                    int status = timedRequest(entity, op, id, samples, outcomes);
+                    if (status < 200 || status >= 300) failedDeletes.add(id);
+                } else {
+                    // Cell's own entities are gone; delete samples continue on fresh untimed creates
+                    id = createUntimed(entity);
+                    if (id != null) timedRequest(entity, op, id, samples, outcomes);
+                }
+            }
+        });
+        for (String id = failedDeletes.takeLast(); id != null; id = failedDeletes.takeLast()) {
+            ids.add(id);
+        }
+    }
+
+    private static void saveLiveIds(Checkpoint checkpoint, IdPool ids) {
+        try {
+            checkpoint.liveIds(ids.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write checkpoint", e);
+        }
+    }
+
+    String timedCreate(String entity, LatencySamples samples, RequestOutcomes outcomes) {
+        long alloc0 = AllocationMeter.currentThreadAllocatedBytes();
+        String body = RequestBodies.titleJson(randomTitle(entity + "-create"));
+        long t0 = System.nanoTime();
+        Response r;
+        try {
+            r = spec()
+                    .contentType(ContentType.JSON)
+                    .body(body)
+                    .when()
+                    .post("/" + entity);
+        } catch (Exception e) {
+            // Resets and timeouts (e.g. injected by a fault profile) count as failures, not as a dead run
+            failed(entity, "create", RequestOutcomes.classify(e), System.nanoTime() - t0, outcomes);
+            recordAllocation(samples, alloc0);
+            return null;
+        }
+        int status = r.then().extract().statusCode();
+        long dtNs = System.nanoTime() - t0;
+        String id = null;
+        if (status >= 200 && status < 300) {
+            metrics.record(entity, "create", String.valueOf(status), dtNs);
+            samples.record(dtNs);
+            outcomes.success(status);
+            id = extractId(r);
+        } else {
+            failed(entity, "create", String.valueOf(status), dtNs, outcomes);
+        }
+        recordAllocation(samples, alloc0);
+        return id;
+    }
+
+    int timedRequest(String entity, String op, String id, LatencySamples samples, RequestOutcomes outcomes) {
+        long alloc0 = AllocationMeter.currentThreadAllocatedBytes();
+        String path = "/" + entity + "/" + id;
+        long t0 = System.nanoTime();
+        Response r;
+        try {
+            switch (op) {
+                case "read":
+                    r = spec().when().get(path);
+                    break;
+                case "update":
+                    r = spec()
+                            .contentType(ContentType.JSON)
+                            .body(RequestBodies.titleJson(randomTitle(entity + "-updated")))
+                            .when()
+                            .put(path);
+                    break;
+                case "delete":
+                    r = spec().when().delete(path);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported operation: " + op);
+            }
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            failed(entity, op, RequestOutcomes.classify(e), System.nanoTime() - t0, outcomes);
+            recordAllocation(samples, alloc0);
+            return -1;
+        }
+        int status = r.then().extract().statusCode();
+        long dtNs = System.nanoTime() - t0;
+        if (status >= 200 && status < 300) {
+            metrics.record(entity, op, String.valueOf(status), dtNs);
+            samples.record(dtNs);
+            outcomes.success(status);
+        } else {
+            failed(entity, op, String.valueOf(status), dtNs, outcomes);
+        }
+        recordAllocation(samples, alloc0);
+        return status;
+    }
+
+    private void failed(String entity, String op, String outcome, long dtNs, RequestOutcomes outcomes) {
+        metrics.record(entity, op, outcome, dtNs);
+        outcomes.failure(outcome, dtNs);
+    }
+
+    /** Everything this thread allocated for the request, including body building and id extraction. */
+    private static void recordAllocation(LatencySamples samples, long alloc0) {
+        if (alloc0 >= 0) samples.recordAllocation(AllocationMeter.currentThreadAllocatedBytes() - alloc0);
+    }
+
+    /** One request of {@code op} through the same code path a cell uses; the target id is a dummy. */
+    void calibrationRequest(String entity, String op, LatencySamples samples) {
+        if ("create".equals(op)) {
+            timedCreate(entity, samples, calibrationOutcomes);
+        } else {
+            timedRequest(entity, op, "1", samples, calibrationOutcomes);
+        }
+    }
+
+    private void writeCalibration(HarnessCalibration calibration, int threads, int size, boolean append) throws IOException {
+        String prefix = System.currentTimeMillis() + "," + threads + "," + size + ",";
+        for (String op : plan.operations()) {
+            metrics.harnessOverhead(calibration.entity(), op, calibration.meanMs(op));
+        }
+        if (!plan.sinks().contains("csv")) return;
+        File dir = plan.outputDir();
+        if (!dir.exists()) dir.mkdirs();
+        File file = new File(dir, plan.name() + "-calibration.csv");
+        boolean writeHeader = !append || !file.isFile();
+        try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file, append), StandardCharsets.UTF_8))) {
+            if (writeHeader) pw.println("timestamp_ms,concurrency,size," + HarnessCalibration.header());
+            for (String row : calibration.rows()) pw.println(prefix + row);
+        }
+    }
+
+    void warmUp(String entity) {
+        for (int i = 0; i < plan.warmup(); i++) {
+            String id = createUntimed(entity);
+            if (id != null) deleteUntimed(entity, id);
+        }
+    }
+
+    String createUntimed(String entity) {
+        try {
+            Response r = spec()
+                    .contentType(ContentType.JSON)
+                    .body(RequestBodies.titleJson(randomTitle(entity + "-untimed")))
+                    .when()
+                    .post("/" + entity);
+            return extractId(r);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    void deleteUntimed(String entity, String id) {
+        try {
+            spec().delete("/" + entity + "/" + id);
+        } catch (Exception ignored) {
+            // Best effort: a leftover entity only inflates later cells slightly
+        }
+    }
+
+    static void runConcurrently(int threads, ExecutorService pool, Runnable worker) throws InterruptedException {
+        if (pool == null || threads <= 1) {
+            worker.run();
+            return;
+        }
+        List<Future<?>> futures = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) futures.add(pool.submit(worker));
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Perf worker failed", e.getCause());
+            }
+        }
+    }
+
+    private RequestSpecification spec() {
+        // noFilters: globally installed filters (e.g. the suites' route profiler) would add their own cost to every sample
+        return given().noFilters().baseUri(target).config(clientConfig);
+    }
+
+    /**
+     * Global RestAssured config plus the plan's client timeouts, on a client that never retries: HttpClient
+     * otherwise resends idempotent requests after a reset or an empty response, and the failed attempt
+     * would surface as a slow success instead of a {@code reset} outcome.
+     */
+    @SuppressWarnings("deprecation")
+    private static RestAssuredConfig clientConfig(ExperimentPlan plan) {
+        HttpClientConfig http = RestAssured.config().getHttpClientConfig().httpClientFactory(() -> {
+            DefaultHttpClient client = new DefaultHttpClient();
+            client.setHttpRequestRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
+            return client;
+        });
+        if (plan.connectTimeoutMs() > 0) http = http.setParam("http.connection.timeout", plan.connectTimeoutMs());
+        if (plan.readTimeoutMs() > 0) http = http.setParam("http.socket.timeout", plan.readTimeoutMs());
+        return RestAssured.config().httpClient(http);
+    }
+
+    private static String extractId(Response r) {
+        int status = r.getStatusCode();
+        if (status < 200 || status >= 300) return null;
+        return ResponseParsing.extractId(r);
+    }
+
+    private List<PrintWriter> openSinks(boolean append) throws IOException {
+        List<PrintWriter> out = new ArrayList<>();
+        for (String sink : plan.sinks()) {
+            switch (sink) {
+                case "stdout":
+                    out.add(STDOUT);
+                    break;
+                case "openmetrics":
+                    // Dumped once at the end of the run, see run()
+                    break;
+                case "csv":
+                    File dir = plan.outputDir();
+                    if (!dir.exists()) dir.mkdirs();
+                    File csv = new File(dir, plan.csvFile());
+                    out.add(new PrintWriter(new OutputStreamWriter(new FileOutputStream(csv, append), StandardCharsets.UTF_8)));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported sink in plan '" + plan.name() + "': " + sink);
+            }
+        }
+        return out;
+    }
+
+    private static void emit(List<PrintWriter> sinks, String line) {
+        for (PrintWriter pw : sinks) {
+            pw.println(line);
+            pw.flush();
+        }
+    }
+
+    private String randomTitle(String prefix) {
+        return RequestBodies.randomTitle(prefix, rand);
+    }
+}
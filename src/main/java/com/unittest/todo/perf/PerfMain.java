@@ -0,0 +1,110 @@
+package com.unittest.todo.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Command-line entry point of the standalone perf runner ({@code mvn -Pperf-runner package} builds
+ * {@code target/todo-perf-runner.jar}). Runs one or more plans in order, without JUnit or Surefire.
+ */
+public final class PerfMain {
+
+    private static final String USAGE = String.join("\n",
+            "Usage: java -jar todo-perf-runner.jar [options] [plan ...]",
+            "",
+            "  plan                   bundled plan name (smoke, todos, categories, capacity, brownout)",
+            "                         or path to a .properties plan file; default: smoke",
+            "  --base-url URL         service to measure, overrides the plan's baseUrl",
+            "  --fault PROFILE        relay through a fault profile (brownout, tail, flaky or a file)",
+            "  --compare URL          interleaved A/B run: base URL is A, URL is B; writes <plan>-ab.csv",
+            "  --output-dir DIR       where CSV, checkpoint and metrics files go (default target/perf)",
+            "  --max-duration SEC     stop starting new cells after SEC seconds",
+            "  --metrics-port PORT    serve live OpenMetrics on PORT (0 = any free port), on loopback",
+            "                         unless widened with --set metrics.host=0.0.0.0",
+            "  --set KEY=VALUE        override any plan key; repeatable",
+            "  -h, --help             print this help",
+            "",
+            "Exit status: 0 when every plan completed, 1 when a plan failed, 2 on bad arguments.");
+
+    private PerfMain() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /** Same as {@link #main(String[])} but returns the exit status instead of exiting. */
+    static int run(String[] args) {
+        List<String> plans = new ArrayList<>();
+        Properties overrides = new Properties();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "-h":
+                    case "--help":
+                        System.out.println(USAGE);
+                        return 0;
+                    case "--base-url":
+                        overrides.setProperty("baseUrl", value(args, ++i, arg));
+                        break;
+                    case "--fault":
+                        overrides.setProperty("fault", value(args, ++i, arg));
+                        break;
+                    case "--compare":
+                        overrides.setProperty("compare.baseUrl", value(args, ++i, arg));
+                        break;
+                    case "--output-dir":
+                        overrides.setProperty("outputDir", value(args, ++i, arg));
+                        break;
+                    case "--max-duration":
+                        overrides.setProperty("maxDurationSeconds", value(args, ++i, arg));
+                        break;
+                    case "--metrics-port":
+                        overrides.setProperty("metrics.port", value(args, ++i, arg));
+                        break;
+                    case "--set": {
+                        String kv = value(args, ++i, arg);
+                        int eq = kv.indexOf('=');
+                        if (eq <= 0) throw new IllegalArgumentException("--set expects KEY=VALUE, got '" + kv + "'");
+                        overrides.setProperty(kv.substring(0, eq).trim(), kv.substring(eq + 1).trim());
+                        break;
+                    }
+                    default:
+                        if (arg.startsWith("-")) throw new IllegalArgumentException("Unknown option " + arg);
+                        plans.add(arg);
+                }
+            }
+            if (plans.isEmpty()) plans.add("smoke");
+
+            // Parse every plan up front so a typo in the last one does not surface hours into the run
+            List<ExperimentPlan> loaded = new ArrayList<>();
+            for (String ref : plans) loaded.add(ExperimentPlan.load(ref, overrides));
+            for (ExperimentPlan plan : loaded) {
+                System.out.println("# running plan '" + plan.name() + "' against " + plan.baseUrl()
+                        + (plan.compareBaseUrl().isEmpty() ? "" : " (A) and " + plan.compareBaseUrl() + " (B)"));
+                new PerfEngine(plan).run();
+            }
+            return 0;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println();
+            System.err.println(USAGE);
+            return 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted");
+            return 1;
+        } catch (Exception e) {
+            System.err.println("Perf run failed: " + e);
+            e.printStackTrace();
+            return 1;
+        }
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) throw new IllegalArgumentException(option + " needs a value");
+        return args[i];
+    }
+}
@@ -0,0 +1,146 @@
+package com.unittest.todo.perf;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live request counters and latency histograms of a perf run, labelled by entity, operation and
+ * status, exposed in OpenMetrics text format. Recording is lock-free; exposition reads a consistent
+ * enough snapshot for scraping while the run is in progress.
+ */
+public final class PerfMetrics {
+
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    /** Histogram upper bounds in seconds, following the Prometheus client defaults below 10 s. */
+    private static final double[] BOUNDS_SECONDS = new double[]{
+            0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+    private final ConcurrentHashMap<String, Series> series = new ConcurrentHashMap<>();
+    private final LongAdder cellsCompleted = new LongAdder();
+    private final ConcurrentHashMap<String, Double> harnessOverheadMs = new ConcurrentHashMap<>();
+
+    public void record(String entity, String operation, String status, long latencyNs) {
+        String key = entity + "\u0000" + operation + "\u0000" + status;
+        Series s = series.get(key);
+        if (s == null) s = series.computeIfAbsent(key, k -> new Series(entity, operation, status));
+        s.record(latencyNs);
+    }
+
+    public void cellCompleted() {
+        cellsCompleted.increment();
+    }
+
+    /** Calibrated client-side cost of one request, see {@link HarnessCalibration}. */
+    public void harnessOverhead(String entity, String operation, double meanMs) {
+        if (Double.isNaN(meanMs)) return;
+        harnessOverheadMs.put("{entity=\"" + escape(entity) + "\",operation=\"" + escape(operation) + "\"}", meanMs);
+    }
+
+    /** Scrape format: no sample timestamps, the scraper assigns them. */
+    public void writeOpenMetrics(Writer w) throws IOException {
+        write(w, null);
+    }
+
+    /**
+     * Offline format: every sample carries the dump time, as {@code promtool tsdb create-blocks-from openmetrics}
+     * requires.
+     */
+    public void dump(File out) throws IOException {
+        File dir = out.getAbsoluteFile().getParentFile();
+        if (!dir.exists()) dir.mkdirs();
+        try (Writer w = new OutputStreamWriter(new FileOutputStream(out, false), StandardCharsets.UTF_8)) {
+            write(w, String.format(Locale.ROOT, "%.3f", System.currentTimeMillis() / 1000.0));
+        }
+    }
+
+    private void write(Writer w, String timestamp) throws IOException {
+        String ts = timestamp == null ? "" : " " + timestamp;
+        Map<String, Series> sorted = new TreeMap<>(series);
+
+        w.write("# TYPE todo_perf_requests counter\n");
+        w.write("# HELP todo_perf_requests Requests issued by the perf harness.\n");
+        for (Series s : sorted.values()) {
+            w.write("todo_perf_requests_total" + s.labels + " " + s.count.sum() + ts + "\n");
+        }
+
+        w.write("# TYPE todo_perf_request_duration_seconds histogram\n");
+        w.write("# UNIT todo_perf_request_duration_seconds seconds\n");
+        w.write("# HELP todo_perf_request_duration_seconds Client-observed request latency.\n");
+        for (Series s : sorted.values()) {
+            String inner = s.labels.substring(1, s.labels.length() - 1);
+            long cumulative = 0L;
+            for (int i = 0; i < BOUNDS_SECONDS.length; i++) {
+                cumulative += s.buckets[i].sum();
+                w.write("todo_perf_request_duration_seconds_bucket{" + inner + ",le=\"" + bound(BOUNDS_SECONDS[i]) + "\"} "
+                        + cumulative + ts + "\n");
+            }
+            long count = s.count.sum();
+            w.write("todo_perf_request_duration_seconds_bucket{" + inner + ",le=\"+Inf\"} " + count + ts + "\n");
+            w.write("todo_perf_request_duration_seconds_count" + s.labels + " " + count + ts + "\n");
+            w.write("todo_perf_request_duration_seconds_sum" + s.labels + " "
+                    + String.format(Locale.ROOT, "%.6f", s.sumSeconds.sum()) + ts + "\n");
+        }
+
+        if (!harnessOverheadMs.isEmpty()) {
+            w.write("# TYPE todo_perf_harness_overhead_seconds gauge\n");
+            w.write("# UNIT todo_perf_harness_overhead_seconds seconds\n");
+            w.write("# HELP todo_perf_harness_overhead_seconds Mean client-side cost per request against a zero-work responder.\n");
+            for (Map.Entry<String, Double> e : new TreeMap<>(harnessOverheadMs).entrySet()) {
+                w.write("todo_perf_harness_overhead_seconds" + e.getKey() + " "
+                        + String.format(Locale.ROOT, "%.6f", e.getValue() / 1000.0) + ts + "\n");
+            }
+        }
+
+        w.write("# TYPE todo_perf_cells counter\n");
+        w.write("# HELP todo_perf_cells Experiment cells completed.\n");
+        w.write("todo_perf_cells_total " + cellsCompleted.sum() + ts + "\n");
+        w.write("# EOF\n");
+        w.flush();
+    }
+
+    private static String bound(double seconds) {
+        String s = String.format(Locale.ROOT, "%.4f", seconds);
+        s = s.replaceAll("0+$", "");
+        return s.endsWith(".") ? s + "0" : s;
+    }
+
+    private static String escape(String v) {
+        return v.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static final class Series {
+        private final String labels;
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sumSeconds = new DoubleAdder();
+        private final LongAdder[] buckets = new LongAdder[BOUNDS_SECONDS.length];
+
+        private Series(String entity, String operation, String status) {
+            this.labels = "{entity=\"" + escape(entity) + "\",operation=\"" + escape(operation) + "\",status=\"" + escape(status) + "\"}";
+            for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+        }
+
+        private void record(long latencyNs) {
+            double seconds = latencyNs / 1e9;
+            count.increment();
+            sumSeconds.add(seconds);
+            for (int i = 0; i < BOUNDS_SECONDS.length; i++) {
+                if (seconds <= BOUNDS_SECONDS[i]) {
+                    buckets[i].increment();
+                    break;
+                }
+            }
+        }
+    }
+}
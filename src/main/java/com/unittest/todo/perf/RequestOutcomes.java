@@ -0,0 +1,76 @@
+package com.unittest.todo.perf;
+
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Every attempt of one operation of one cell, by outcome: the status code for answered requests, or a
+ * transport class ({@code connect_timeout}, {@code read_timeout}, {@code connect_refused},
+ * {@code reset}, {@code io_error}) when none came back. Success latencies stay in the cell's
+ * {@link LatencySamples}; failed attempts get their own distribution here, so a service that sheds
+ * load with fast 5xx shows up as failures instead of as a faster mean.
+ */
+public final class RequestOutcomes {
+
+    private final Map<String, Long> counts = new TreeMap<>();
+    private final LatencySamples failures = new LatencySamples();
+    private long successes;
+
+    public synchronized void success(int status) {
+        successes++;
+        counts.merge(String.valueOf(status), 1L, Long::sum);
+    }
+
+    /** A non-2xx status or a transport failure; {@code outcome} is the status code or exception class. */
+    public void failure(String outcome, long latencyNs) {
+        synchronized (this) {
+            counts.merge(outcome, 1L, Long::sum);
+        }
+        failures.record(latencyNs);
+    }
+
+    public synchronized long successes() {
+        return successes;
+    }
+
+    public long failures() {
+        return failures.count();
+    }
+
+    public long attempts() {
+        return successes() + failures();
+    }
+
+    /** Latencies of failed attempts, from send until the status or exception arrived. */
+    public LatencySamples failureLatencies() {
+        return failures;
+    }
+
+    public synchronized Map<String, Long> counts() {
+        return new TreeMap<>(counts);
+    }
+
+    /** Transport failure class of a request that got no response. */
+    public static String classify(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConnectTimeoutException) return "connect_timeout";
+            if (t instanceof SocketTimeoutException) {
+                String msg = String.valueOf(t.getMessage()).toLowerCase();
+                return msg.contains("connect") ? "connect_timeout" : "read_timeout";
+            }
+            if (t instanceof ConnectException) return "connect_refused";
+            if (t instanceof NoHttpResponseException) return "reset";
+            if (t instanceof SocketException) {
+                String msg = String.valueOf(t.getMessage()).toLowerCase();
+                if (msg.contains("reset") || msg.contains("broken pipe")) return "reset";
+            }
+        }
+        return "io_error";
+    }
+}
@@ -0,0 +1,60 @@
+package com.unittest.todo.perf;
+
+import io.restassured.response.Response;
+
+import java.util.List;
+
+/**
+ * Client-side parsing that runs on every measured request: the id of a created entity and the size of
+ * a collection. Shared by the suites ({@code TestAbstract}) and the engine, and benchmarked on synthetic
+ * responses under {@code src/jmh}. The Location header is tried first because it needs no body parsing;
+ * {@code jsonPath()} compiles a Groovy expression and costs hundreds of kilobytes per call.
+ */
+public final class ResponseParsing {
+
+    private ResponseParsing() {
+    }
+
+    /** Last path segment of a {@code Location} header, or null when there is none. */
+    public static String idFromLocation(String location) {
+        if (location == null || location.isEmpty()) return null;
+        int idx = location.lastIndexOf('/');
+        if (idx >= 0 && idx < location.length() - 1) {
+            return location.substring(idx + 1);
+        }
+        return null;
+    }
+
+    /** Id of the entity a create response describes, from its Location header or its JSON body. */
+    public static String extractId(Response r) {
+        String fromLocation = idFromLocation(r.getHeader("Location"));
+        if (fromLocation != null) return fromLocation;
+        try {
+            Object id = r.jsonPath().get("id");
+            if (id != null) {
+                return String.valueOf(id);
+            }
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Number of entities in a collection response: the array named after the collection
+     * ({@code /todos} lists under {@code todos}), else a top-level array; -1 when neither parses.
+     */
+    public static int count(Response r, String collectionPath) {
+        String keyFromPath = collectionPath.startsWith("/") ? collectionPath.substring(1) : collectionPath;
+        int slash = keyFromPath.indexOf('/');
+        if (slash > 0) keyFromPath = keyFromPath.substring(0, slash);
+        try {
+            List<?> list = r.jsonPath().getList(keyFromPath);
+            if (list != null) return list.size();
+        } catch (Exception ignored) {}
+        try {
+            List<?> list = r.jsonPath().getList("$");
+            if (list != null) return list.size();
+        } catch (Exception ignored) {}
+        return -1;
+    }
+}
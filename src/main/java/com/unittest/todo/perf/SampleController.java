@@ -0,0 +1,55 @@
+package com.unittest.todo.perf;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides, shared across the worker threads of one phase, whether another timed request is needed.
+ * Fixed mode stops after a set number of attempts; adaptive mode keeps going until the confidence
+ * interval of the plan's statistic is narrower than the target relative width, or a cap is hit.
+ */
+final class SampleController {
+
+    private final boolean adaptive;
+    private final int fixedAttempts;
+    private final ExperimentPlan plan;
+    private final AtomicInteger attempts = new AtomicInteger();
+    private int nextCheck;
+    private volatile boolean done;
+
+    private SampleController(boolean adaptive, int fixedAttempts, ExperimentPlan plan) {
+        this.adaptive = adaptive;
+        this.fixedAttempts = fixedAttempts;
+        this.plan = plan;
+        this.nextCheck = plan.adaptiveMinSamples();
+    }
+
+    static SampleController fixed(int attempts, ExperimentPlan plan) {
+        return new SampleController(false, attempts, plan);
+    }
+
+    static SampleController adaptive(ExperimentPlan plan) {
+        return new SampleController(true, 0, plan);
+    }
+
+    /** Reserves one attempt; false once the phase has enough samples. */
+    boolean needMore(LatencySamples samples) {
+        if (!adaptive) return attempts.incrementAndGet() <= fixedAttempts;
+        if (done) return false;
+        // Failed requests do not add samples, so bound attempts too
+        if (attempts.incrementAndGet() > plan.adaptiveMaxSamples() * 2) return false;
+        int n = samples.count();
+        if (n >= plan.adaptiveMaxSamples()) return false;
+        if (n < plan.adaptiveMinSamples()) return true;
+        synchronized (this) {
+            if (n >= nextCheck && !done) {
+                ConfidenceInterval ci = ConfidenceInterval.of(plan.adaptiveStatistic(), samples.toArray(), plan.adaptiveConfidence());
+                if (ci.relativeWidth() <= plan.adaptiveTargetRelativeWidth()) {
+                    done = true;
+                }
+                // Sorting every sample is wasteful; re-check after ~10% more data
+                nextCheck = Math.max(n + 10, (int) (n * 1.1));
+            }
+        }
+        return !done;
+    }
+}
@@ -0,0 +1,96 @@
+package com.unittest.todo.perf;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loopback HTTP server that answers every request with a canned response and does no other work:
+ * {@code POST /<entity>} gets 201 with {@code {"id":"1"}} and a Location header, {@code DELETE} an empty
+ * 200, anything else a one-entity 200. Time spent talking to it is the harness's own cost plus loopback.
+ */
+final class ZeroWorkResponder implements AutoCloseable {
+
+    private static final byte[] CREATED = "{\"id\":\"1\",\"title\":\"calibration\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ENTITY = "{\"entities\":[{\"id\":\"1\",\"title\":\"calibration\"}]}".getBytes(StandardCharsets.UTF_8);
+
+    private static ZeroWorkResponder shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private ZeroWorkResponder(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    static ZeroWorkResponder start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        ExecutorService executor = Executors.newFixedThreadPool(4, r -> {
+            Thread t = new Thread(r, "zero-work-responder");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", ZeroWorkResponder::handle);
+        server.start();
+        return new ZeroWorkResponder(server, executor);
+    }
+
+    /** Process-wide instance, so every calibration talks to an already warm server. */
+    static synchronized ZeroWorkResponder shared() throws IOException {
+        if (shared == null) {
+            ZeroWorkResponder responder = start();
+            Runtime.getRuntime().addShutdownHook(new Thread(responder::close, "zero-work-responder-shutdown"));
+            shared = responder;
+        }
+        return shared;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void handle(HttpExchange ex) throws IOException {
+        try (InputStream in = ex.getRequestBody()) {
+            byte[] sink = new byte[1024];
+            while (in.read(sink) != -1) {
+                // drain so the connection can be reused
+            }
+        }
+        String method = ex.getRequestMethod();
+        String path = ex.getRequestURI().getPath();
+        boolean collection = path.indexOf('/', 1) < 0;
+        int status;
+        byte[] body;
+        if ("POST".equals(method) && collection) {
+            status = 201;
+            body = CREATED;
+            ex.getResponseHeaders().set("Location", path + "/1");
+        } else if ("DELETE".equals(method)) {
+            status = 200;
+            body = new byte[0];
+        } else {
+            status = 200;
+            body = ENTITY;
+        }
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
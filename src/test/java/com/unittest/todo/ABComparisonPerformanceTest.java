@@ -0,0 +1,104 @@
+package com.unittest.todo;
+
+import com.unittest.todo.fault.FaultProfile;
+import com.unittest.todo.fault.FaultProxy;
+import com.unittest.todo.perf.ExperimentPlan;
+import com.unittest.todo.perf.PerfEngine;
+import com.unittest.todo.standin.StandInServerExtension;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Interleaved A/B runs against the stand-in, each side behind its own {@link FaultProxy} so both pay
+ * the same extra hop. With {@value #INJECTED_MS} ms injected on B every operation must come out
+ * {@code b_slower}, and on average by at least that much; with nothing injected (an A/A run) most rows must find no
+ * difference. To compare two real builds, run the runner with {@code --base-url A --compare B}.
+ */
+@Tag("performance")
+@ExtendWith(StandInServerExtension.class)
+class ABComparisonPerformanceTest extends TestAbstract {
+
+    private static final int INJECTED_MS = 2;
+
+    @Test
+    void detectsInjectedSlowdownOnB() throws Exception {
+        List<String[]> rows = compare(fixedDelay(INJECTED_MS), "ab-comparison.csv");
+        double diffSum = 0;
+        double createMedianSum = 0;
+        int createRows = 0;
+        int bSlower = 0;
+        for (String[] row : rows) {
+            String label = row[2] + "|" + row[3] + "|" + row[4] + "|" + row[5];
+            assertNotEquals("b_faster", row[18], label + " found B faster despite the injected delay");
+            if ("b_slower".equals(row[18])) bSlower++;
+            // Only a delay is injected, so neither side may lose a request
+            assertEquals("0", row[20], label + " a_failed");
+            assertEquals("0", row[23], label + " b_failed");
+            diffSum += Double.parseDouble(row[10]);
+            if ("create".equals(row[5])) {
+                createMedianSum += Double.parseDouble(row[13]);
+                createRows++;
+            }
+        }
+        // A row's interval is built from 60 pairs, so an occasional row misses a 2 ms shift; most must catch it
+        assertTrue(bSlower * 4 >= rows.size() * 3, bSlower + " of " + rows.size() + " rows found B slower");
+        // Creates must measure the create alone: an extra round trip inside the pair would roughly double this
+        double createMedian = createMedianSum / createRows;
+        assertTrue(createMedian <= INJECTED_MS * 1.5,
+                "median create difference " + createMedian + " ms well above the injected " + INJECTED_MS + " ms");
+        // A single row's mean is noisy at 60 pairs; across all rows it must recover the injected delay
+        double meanDiff = diffSum / rows.size();
+        assertTrue(meanDiff >= INJECTED_MS * 0.9,
+                "mean paired difference " + meanDiff + " ms below the injected " + INJECTED_MS + " ms");
+    }
+
+    @Test
+    void findsNoDifferenceBetweenIdenticalSides() throws Exception {
+        List<String[]> rows = compare(FaultProfile.none(), "aa-comparison.csv");
+        long noDifference = rows.stream().filter(r -> "no_difference".equals(r[18])).count();
+        // Each row is a 95% interval, so a few false verdicts are expected; most must find nothing
+        assertTrue(noDifference * 2 >= rows.size(), noDifference + " of " + rows.size() + " A/A rows found no difference");
+    }
+
+    private static List<String[]> compare(FaultProfile onB, String csvFile) throws Exception {
+        String upstream = RestAssured.baseURI;
+        try (FaultProxy a = FaultProxy.start(upstream, FaultProfile.none(), 0);
+             FaultProxy b = FaultProxy.start(upstream, onB, 0)) {
+            Properties p = new Properties();
+            p.setProperty("name", csvFile.replace(".csv", ""));
+            p.setProperty("baseUrl", a.baseUrl());
+            p.setProperty("compare.baseUrl", b.baseUrl());
+            p.setProperty("compare.csv.file", csvFile);
+            p.setProperty("compare.minPairs", "60");
+            p.setProperty("entities", "todos");
+            p.setProperty("sizes", "5,25");
+            p.setProperty("operations", "create,read,update,delete");
+            p.setProperty("concurrency", "1,2");
+            p.setProperty("warmup", "50");
+            new PerfEngine(ExperimentPlan.fromProperties(p)).run();
+        }
+        List<String> lines = Files.readAllLines(new File("target/perf", csvFile).toPath(), StandardCharsets.UTF_8);
+        assertEquals(1 + 2 * 2 * 4, lines.size(), "one row per concurrency, size and operation");
+        return lines.subList(1, lines.size()).stream().map(l -> l.split(",", -1)).collect(Collectors.toList());
+    }
+
+    private static FaultProfile fixedDelay(int ms) {
+        Properties p = new Properties();
+        p.setProperty("name", "fixed-" + ms + "ms");
+        p.setProperty("delay", "fixed:" + ms);
+        return FaultProfile.fromProperties(p);
+    }
+}
@@ -0,0 +1,259 @@
+package com.unittest.todo;
+
+import com.unittest.todo.perf.ConfidenceInterval;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.unittest.todo.perf.CsvFormat.localTime;
+import static com.unittest.todo.perf.CsvFormat.round4;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Cold-start benchmark: launches the service jar ({@code -Dtodo.coldstart.jar=path}) as a child JVM
+ * {@code todo.coldstart.runs} times and measures, from process start, the time to the first 200 on
+ * {@code /}, to the first successful {@code POST /todos}, and until the latency of the first
+ * {@value #SETTLE_REQUESTS} successful {@code GET /todos} requests settles (rolling median of {@value #SETTLE_WINDOW}
+ * within 10% of the median of the last {@value #STEADY_TAIL}). {@code cold-start-summary.csv} adds
+ * {@code todo.coldstart.confidence} intervals for the median and mean of every metric across runs.
+ * Skipped when no jar is given.
+ * Requests use a bare {@link HttpURLConnection} so client warm-up stays small; the first run still
+ * includes some of it.
+ */
+@Tag("performance")
+class ColdStartPerformanceTest {
+
+    private static final String JAR = System.getProperty("todo.coldstart.jar", "");
+    private static final int RUNS = Integer.getInteger("todo.coldstart.runs", 5);
+    private static final String BASE_URL = System.getProperty("todo.coldstart.baseUrl", "http://localhost:4567");
+    private static final String JAVA_OPTS = System.getProperty("todo.coldstart.javaOpts", "");
+    private static final String ARGS = System.getProperty("todo.coldstart.args", "");
+    private static final long READY_TIMEOUT_MS = Long.getLong("todo.coldstart.timeoutMs", 120_000L);
+    private static final double CONFIDENCE = Double.parseDouble(System.getProperty("todo.coldstart.confidence", "0.95"));
+
+    private static final int SETTLE_REQUESTS = 1000;
+    private static final int SETTLE_WINDOW = 50;
+    private static final int STEADY_TAIL = 200;
+
+    @Test
+    void measureColdStarts() throws Exception {
+        assumeTrue(!JAR.isEmpty(), "set -Dtodo.coldstart.jar=<service jar> to run the cold-start benchmark");
+        File jar = new File(JAR);
+        assumeTrue(jar.isFile(), "no service jar at " + jar.getAbsolutePath());
+        URL base = new URL(BASE_URL);
+        int port = base.getPort() > 0 ? base.getPort() : 80;
+        assertFalse(portOpen(base.getHost(), port), "something is already listening on " + BASE_URL + "; stop it first");
+
+        File outDir = new File("target/perf");
+        if (!outDir.exists()) outDir.mkdirs();
+        List<double[]> results = new ArrayList<>();
+        String[] metrics = new String[]{"time_to_first_200_ms", "time_to_first_post_ms", "time_to_settled_ms",
+                "first_request_ms", "steady_p50_ms", "steady_p99_ms"};
+
+        try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(new File(outDir, "cold-start.csv"), false), StandardCharsets.UTF_8))) {
+            String header = "timestamp_start_ms,start_time_local,run,polls," + String.join(",", metrics) + ",settle_request_index,settle_errors";
+            System.out.println(header);
+            pw.println(header);
+
+            for (int run = 1; run <= RUNS; run++) {
+                long timestampStartMs = System.currentTimeMillis();
+                File log = new File(outDir, "cold-start-run-" + run + ".log");
+                Process process = launch(jar, log);
+                try {
+                    double[] r = measure(process);
+                    results.add(r);
+                    String startLocal = localTime(timestampStartMs);
+                    String line = timestampStartMs + "," + startLocal + "," + run + "," + (long) r[6] + "," +
+                            round4(r[0]) + "," + round4(r[1]) + "," + round4(r[2]) + "," + round4(r[3]) + "," +
+                            round4(r[4]) + "," + round4(r[5]) + "," + (long) r[7] + "," + (long) r[8];
+                    System.out.println(line);
+                    pw.println(line);
+                    pw.flush();
+                } finally {
+                    stop(process);
+                    waitForPortClosed(base.getHost(), port);
+                }
+            }
+        }
+
+        try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(new File(outDir, "cold-start-summary.csv"), false), StandardCharsets.UTF_8))) {
+            String header = "metric,runs,min_ms,p50_ms,p50_ci_lo_ms,p50_ci_hi_ms,mean_ms,mean_ci_lo_ms,mean_ci_hi_ms,max_ms";
+            System.out.println(header);
+            pw.println(header);
+            for (int m = 0; m < metrics.length; m++) {
+                long[] valuesNs = new long[results.size()];
+                for (int i = 0; i < valuesNs.length; i++) valuesNs[i] = Math.round(results.get(i)[m] * 1_000_000.0);
+                Arrays.sort(valuesNs);
+                // A handful of runs leaves the median interval open; an empty bound means "not yet bounded"
+                ConfidenceInterval p50 = ConfidenceInterval.forQuantile(valuesNs, 0.50, CONFIDENCE);
+                ConfidenceInterval mean = ConfidenceInterval.forMean(valuesNs, CONFIDENCE);
+                String line = metrics[m] + "," + valuesNs.length + "," + round4(valuesNs[0] / 1_000_000.0) + "," +
+                        round4(p50.estimateMs()) + "," + round4(p50.lowMs()) + "," + round4(p50.highMs()) + "," +
+                        round4(mean.estimateMs()) + "," + round4(mean.lowMs()) + "," + round4(mean.highMs()) + "," +
+                        round4(valuesNs[valuesNs.length - 1] / 1_000_000.0);
+                System.out.println(line);
+                pw.println(line);
+            }
+        }
+    }
+
+    private static Process launch(File jar, File log) throws IOException {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(ProcessHandle.current().info().command().orElse("java"));
+        for (String opt : JAVA_OPTS.trim().split("\\s+")) {
+            if (!opt.isEmpty()) cmd.add(opt);
+        }
+        cmd.add("-jar");
+        cmd.add(jar.getAbsolutePath());
+        for (String arg : ARGS.trim().split("\\s+")) {
+            if (!arg.isEmpty()) cmd.add(arg);
+        }
+        return new ProcessBuilder(cmd)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+    }
+
+    /**
+     * {time_to_first_200, time_to_first_post, time_to_settled, first_request, steady_p50, steady_p99,
+     * polls, settle_index, settle_errors}; times in ms from process start.
+     */
+    private static double[] measure(Process process) throws Exception {
+        long t0 = System.nanoTime();
+        long deadline = t0 + TimeUnit.MILLISECONDS.toNanos(READY_TIMEOUT_MS);
+
+        // Fine-grained backoff: 1 ms growing by half each miss, capped at 20 ms
+        long polls = 0;
+        long sleepUs = 1_000;
+        while (true) {
+            assertTrue(process.isAlive(), "service exited with " + exitValue(process) + " before answering /");
+            assertTrue(System.nanoTime() < deadline, "service not ready within " + READY_TIMEOUT_MS + " ms");
+            polls++;
+            if (status("GET", "/", null) == 200) break;
+            TimeUnit.MICROSECONDS.sleep(sleepUs);
+            sleepUs = Math.min(20_000, sleepUs + sleepUs / 2);
+        }
+        double firstOk = ms(System.nanoTime() - t0);
+
+        while (status("POST", "/todos", "{\"title\":\"cold-start\"}") != 201) {
+            assertTrue(System.nanoTime() < deadline, "POST /todos did not succeed within " + READY_TIMEOUT_MS + " ms");
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        double firstPost = ms(System.nanoTime() - t0);
+
+        // Only 200s are settle samples; a 5xx or a refused/reset connection is counted, not timed
+        long[] latencyNs = new long[SETTLE_REQUESTS];
+        long[] doneAtNs = new long[SETTLE_REQUESTS];
+        long settleErrors = 0;
+        for (int i = 0; i < SETTLE_REQUESTS; ) {
+            long s = System.nanoTime();
+            int status = status("GET", "/todos", null);
+            long e = System.nanoTime();
+            if (status != 200) {
+                settleErrors++;
+                assertTrue(settleErrors <= SETTLE_REQUESTS, "GET /todos failed " + settleErrors + " times after the first POST");
+                continue;
+            }
+            latencyNs[i] = e - s;
+            doneAtNs[i] = e - t0;
+            i++;
+        }
+        long[] tail = Arrays.copyOfRange(latencyNs, SETTLE_REQUESTS - STEADY_TAIL, SETTLE_REQUESTS);
+        Arrays.sort(tail);
+        double steadyMedian = tail[tail.length / 2];
+        int settleIndex = SETTLE_REQUESTS - STEADY_TAIL;
+        for (int i = 0; i + SETTLE_WINDOW <= SETTLE_REQUESTS; i++) {
+            long[] window = Arrays.copyOfRange(latencyNs, i, i + SETTLE_WINDOW);
+            Arrays.sort(window);
+            if (Math.abs(window[SETTLE_WINDOW / 2] - steadyMedian) <= 0.10 * steadyMedian) {
+                settleIndex = i;
+                break;
+            }
+        }
+        return new double[]{firstOk, firstPost, ms(doneAtNs[settleIndex]), ms(latencyNs[0]),
+                ms(tail[(int) Math.ceil(0.50 * tail.length) - 1]), ms(tail[(int) Math.ceil(0.99 * tail.length) - 1]),
+                polls, settleIndex, settleErrors};
+    }
+
+    /** Status code, or -1 when the connection is refused or breaks. */
+    private static int status(String method, String path, String body) {
+        HttpURLConnection c = null;
+        try {
+            c = (HttpURLConnection) new URL(BASE_URL + path).openConnection();
+            c.setConnectTimeout(1_000);
+            c.setReadTimeout(10_000);
+            c.setRequestMethod(method);
+            c.setRequestProperty("Accept", "application/json");
+            if (body != null) {
+                c.setDoOutput(true);
+                c.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = c.getOutputStream()) {
+                    out.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = c.getResponseCode();
+            // Read the body fully so the keep-alive connection is reused
+            try (InputStream in = status < 400 ? c.getInputStream() : c.getErrorStream()) {
+                if (in != null) in.readAllBytes();
+            }
+            return status;
+        } catch (IOException e) {
+            if (c != null) c.disconnect();
+            return -1;
+        }
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static String exitValue(Process process) {
+        try {
+            return String.valueOf(process.exitValue());
+        } catch (IllegalThreadStateException e) {
+            return "?";
+        }
+    }
+
+    private static boolean portOpen(String host, int port) {
+        try (Socket s = new Socket()) {
+            s.connect(new InetSocketAddress(host, port), 200);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void waitForPortClosed(String host, int port) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (portOpen(host, port) && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private static double ms(long ns) {
+        return ns / 1_000_000.0;
+    }
+}
@@ -0,0 +1,215 @@
+package com.unittest.todo;
+
+import com.unittest.todo.perf.LatencySamples;
+import com.unittest.todo.perf.RequestBodies;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static com.unittest.todo.perf.CsvFormat.localTime;
+import static com.unittest.todo.perf.CsvFormat.round4;
+import static io.restassured.RestAssured.given;
+
+/**
+ * Times full-collection reads of {@code /todos} and {@code /categories} as the store grows, plus the
+ * query-parameter filters at different selectivities. Seeded todos are 10% {@code doneStatus=true}
+ * and half of them share one title, so {@code ?doneStatus=true}, {@code ?doneStatus=false},
+ * {@code ?title=<shared>} and {@code ?title=<unique>} cover roughly 10%, 90%, 50% and a single match.
+ * A least-squares fit of latency against store size per query is written at the end. Reads that do
+ * not return 200 are counted in {@code errors} and kept out of the latency and byte columns.
+ */
+@Tag("performance")
+class CollectionReadPerformanceTest extends TestAbstract {
+
+    private static final int[] STORE_SIZES = new int[]{
+            10, 100, 250, 500, 1000, 2000
+    };
+
+    private static final int ITERATIONS = Integer.getInteger("todo.perf.read.iterations", 30);
+    private static final Random RAND = new Random(42);
+
+    private final String sharedTitle = RequestBodies.randomTitle("read-shared", RAND);
+    private final List<String> createdTodoIds = new ArrayList<>();
+    private final List<String> createdCategoryIds = new ArrayList<>();
+    private String uniqueTodoTitle;
+    private String uniqueCategoryTitle;
+
+    // query label -> {store_size, avg_ms} points for the scaling fit
+    private final Map<String, List<double[]>> scaling = new LinkedHashMap<>();
+
+    @Test
+    void runCollectionReadExperiment() throws Exception {
+        File outDir = new File("target/perf");
+        if (!outDir.exists()) outDir.mkdirs();
+        File csv = new File(outDir, "collection-read.csv");
+
+        try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(csv, false), StandardCharsets.UTF_8))) {
+            String header = "timestamp_start_ms,start_time_local,entity,query,store_size,matched,selectivity,iterations,errors,avg_ms,p50_ms,p99_ms,avg_response_bytes,ms_per_1k_entities";
+            System.out.println(header);
+            pw.println(header);
+
+            try {
+                for (int size : STORE_SIZES) {
+                    seedTodosTo(size);
+                    seedCategoriesTo(size);
+                    int todoStore = getCount("/todos");
+                    int categoryStore = getCount("/categories");
+
+                    write(pw, measureRead("todos", "", todoStore));
+                    write(pw, measureRead("todos", "?doneStatus=true", todoStore));
+                    write(pw, measureRead("todos", "?doneStatus=false", todoStore));
+                    write(pw, measureRead("todos", "?title=" + sharedTitle, todoStore));
+                    write(pw, measureRead("todos", "?title=" + uniqueTodoTitle, todoStore));
+                    write(pw, measureRead("categories", "", categoryStore));
+                    write(pw, measureRead("categories", "?title=" + sharedTitle, categoryStore));
+                    write(pw, measureRead("categories", "?title=" + uniqueCategoryTitle, categoryStore));
+                }
+            } finally {
+                for (String id : createdTodoIds) given().when().delete("/todos/" + id);
+                for (String id : createdCategoryIds) given().when().delete("/categories/" + id);
+                createdTodoIds.clear();
+                createdCategoryIds.clear();
+            }
+        }
+
+        writeScalingFit(new File(outDir, "collection-read-scaling.csv"));
+    }
+
+    private String measureRead(String entity, String query, int storeSize) {
+        long timestampStartMs = System.currentTimeMillis();
+        LatencySamples samples = new LatencySamples();
+        int errors = 0;
+        long totalBytes = 0L;
+        int matched = -1;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long t0 = System.nanoTime();
+            Response r = given().accept(ContentType.JSON).when().get("/" + entity + query);
+            byte[] body = r.asByteArray();
+            long elapsedNs = System.nanoTime() - t0;
+            if (r.statusCode() != 200) {
+                errors++;
+                continue;
+            }
+            samples.record(elapsedNs);
+            totalBytes += body.length;
+            if (matched < 0) {
+                // A 200 whose body is not the expected list is a real failure, not a zero match
+                List<?> list = r.jsonPath().getList(entity);
+                matched = list == null ? 0 : list.size();
+            }
+        }
+
+        int ok = samples.count();
+        double avgMs = samples.meanMs();
+        double selectivity = storeSize > 0 && matched >= 0 ? (double) matched / storeSize : Double.NaN;
+        double msPer1k = storeSize > 0 ? avgMs * 1000.0 / storeSize : Double.NaN;
+
+        if (ok > 0) {
+            String label = entity + ":" + queryLabel(query);
+            scaling.computeIfAbsent(label, k -> new ArrayList<>()).add(new double[]{storeSize, avgMs});
+        }
+
+        String startLocal = localTime(timestampStartMs);
+        return timestampStartMs + "," + startLocal + "," + entity + "," + queryLabel(query) + "," + storeSize + "," +
+                (matched < 0 ? "" : String.valueOf(matched)) + "," + round4(selectivity) + "," + ITERATIONS + "," + errors + "," +
+                round4(avgMs) + "," + round4(samples.percentileMs(0.50)) + "," + round4(samples.percentileMs(0.99)) + "," +
+                round4(ok == 0 ? Double.NaN : (double) totalBytes / ok) + "," + round4(msPer1k);
+    }
+
+    private void seedTodosTo(int size) {
+        int attempts = 0;
+        while (createdTodoIds.size() < size && attempts < size * 5) {
+            attempts++;
+            int i = createdTodoIds.size();
+            String title = i % 2 == 0 ? sharedTitle : RequestBodies.randomTitle("read", RAND);
+            String body = "{\"title\":\"" + title + "\",\"doneStatus\":" + (i % 10 == 0) + "}";
+            String id = postReturningId("/todos", body);
+            if (id != null) {
+                createdTodoIds.add(id);
+                if (i % 2 != 0) uniqueTodoTitle = title;
+            }
+        }
+    }
+
+    private void seedCategoriesTo(int size) {
+        int attempts = 0;
+        while (createdCategoryIds.size() < size && attempts < size * 5) {
+            attempts++;
+            int i = createdCategoryIds.size();
+            String title = i % 2 == 0 ? sharedTitle : RequestBodies.randomTitle("read-cat", RAND);
+            String id = postReturningId("/categories", "{\"title\":\"" + title + "\"}");
+            if (id != null) {
+                createdCategoryIds.add(id);
+                if (i % 2 != 0) uniqueCategoryTitle = title;
+            }
+        }
+    }
+
+    private String postReturningId(String collectionPath, String body) {
+        Response r = given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .post(collectionPath);
+        int status = r.then().extract().statusCode();
+        if (status < 200 || status >= 300) return null;
+        return extractId(r.then(), collectionPath);
+    }
+
+    private void writeScalingFit(File out) throws Exception {
+        try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(out, false), StandardCharsets.UTF_8))) {
+            String header = "query,points,intercept_ms,slope_ms_per_entity,r_squared";
+            System.out.println(header);
+            pw.println(header);
+            for (Map.Entry<String, List<double[]>> e : scaling.entrySet()) {
+                List<double[]> pts = e.getValue();
+                int n = pts.size();
+                double sx = 0, sy = 0, sxx = 0, sxy = 0, syy = 0;
+                for (double[] p : pts) {
+                    sx += p[0]; sy += p[1];
+                    sxx += p[0] * p[0]; sxy += p[0] * p[1]; syy += p[1] * p[1];
+                }
+                double denom = n * sxx - sx * sx;
+                double slope = denom == 0 ? Double.NaN : (n * sxy - sx * sy) / denom;
+                double intercept = (sy - slope * sx) / n;
+                double ssTot = syy - sy * sy / n;
+                double ssRes = 0;
+                for (double[] p : pts) {
+                    double r = p[1] - (intercept + slope * p[0]);
+                    ssRes += r * r;
+                }
+                double r2 = ssTot == 0 ? Double.NaN : 1.0 - ssRes / ssTot;
+                String line = e.getKey() + "," + n + "," + round4(intercept) + "," +
+                        String.format(Locale.ROOT, "%.8f", slope) + "," + round4(r2);
+                System.out.println(line);
+                pw.println(line);
+            }
+        }
+    }
+
+    private static void write(PrintWriter pw, String line) {
+        System.out.println(line);
+        pw.println(line);
+        pw.flush();
+    }
+
+    private static String queryLabel(String query) {
+        if (query.isEmpty()) return "all";
+        if (query.startsWith("?title=read-shared")) return "title=shared";
+        if (query.startsWith("?title=")) return "title=unique";
+        return query.substring(1);
+    }
+}
@@ -0,0 +1,236 @@
+package com.unittest.todo;
+
+import com.unittest.todo.perf.IdPool;
+import com.unittest.todo.perf.LatencySamples;
+import com.unittest.todo.perf.RequestBodies;
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static com.unittest.todo.perf.CsvFormat.localTime;
+import static com.unittest.todo.perf.CsvFormat.round4;
+import static io.restassured.RestAssured.given;
+
+/**
+ * Crosses response/request format (JSON, XML) and Accept-Encoding (identity, gzip) with payload size
+ * and collection size for {@code GET /todos}, {@code GET /projects} and {@code POST} on both collections.
+ * Response bytes are measured on the wire: content decoding is switched off so a gzip body is counted
+ * compressed. Replies with an unexpected status are counted in {@code errors} and kept out of the
+ * latency and byte columns, which describe successful exchanges only.
+ */
+@Tag("performance")
+class ContentNegotiationPerformanceTest extends TestAbstract {
+
+    private static final String[] ENTITIES = new String[]{"todos", "projects"};
+
+    private static final int[] PAYLOAD_SIZES = new int[]{
+            10, 1024, 16 * 1024, 64 * 1024
+    };
+
+    private static final int[] COLLECTION_SIZES = new int[]{
+            10, 100, 500
+    };
+
+    private static final ContentType[] FORMATS = new ContentType[]{ContentType.JSON, ContentType.XML};
+    private static final String[] ENCODINGS = new String[]{"identity", "gzip"};
+
+    private static final int ITERATIONS = Integer.getInteger("todo.perf.negotiation.iterations", 20);
+    private static final Random RAND = new Random(42);
+
+    // No content decoders: RestAssured neither advertises nor inflates gzip, so body length == wire length.
+    private static final RestAssuredConfig RAW_CONFIG = RestAssured.config()
+            .decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+
+    private final IdPool createdIds = new IdPool(1024);
+
+    @Test
+    void runContentNegotiationExperiment() throws Exception {
+        File outDir = new File("target/perf");
+        if (!outDir.exists()) outDir.mkdirs();
+        File csv = new File(outDir, "content-negotiation.csv");
+
+        try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(csv, false), StandardCharsets.UTF_8))) {
+            String header = "timestamp_start_ms,start_time_local,entity,operation,format,encoding,payload_bytes,collection_size,iterations,errors,avg_ms,p50_ms,p99_ms,avg_response_bytes,bytes_per_sec,content_encoding";
+            System.out.println(header);
+            pw.println(header);
+
+            for (String entity : ENTITIES) {
+                for (int payload : PAYLOAD_SIZES) {
+                    String description = payloadOfSize(payload);
+                    for (int collectionSize : COLLECTION_SIZES) {
+                        seedTo(entity, collectionSize, description);
+                        for (ContentType format : FORMATS) {
+                            for (String encoding : ENCODINGS) {
+                                write(pw, measureGet(entity, format, encoding, payload, collectionSize));
+                                write(pw, measurePost(entity, format, encoding, payload, collectionSize, description));
+                            }
+                        }
+                    }
+                    for (String id = createdIds.takeLast(); id != null; id = createdIds.takeLast()) {
+                        given().when().delete("/" + entity + "/" + id);
+                    }
+                }
+            }
+        }
+    }
+
+    private String measureGet(String entity, ContentType format, String encoding, int payload, int collectionSize) {
+        long timestampStartMs = System.currentTimeMillis();
+        LatencySamples samples = new LatencySamples();
+        int errors = 0;
+        long totalBytes = 0L;
+        String contentEncoding = "";
+        for (int i = 0; i < ITERATIONS; i++) {
+            long t0 = System.nanoTime();
+            Response r = given()
+                    .config(RAW_CONFIG)
+                    .accept(format)
+                    .header("Accept-Encoding", encoding)
+                    .when()
+                    .get("/" + entity);
+            byte[] body = r.asByteArray();
+            long elapsedNs = System.nanoTime() - t0;
+            if (r.statusCode() != 200) {
+                errors++;
+                continue;
+            }
+            samples.record(elapsedNs);
+            totalBytes += body.length;
+            String ce = r.getHeader("Content-Encoding");
+            if (ce != null) contentEncoding = ce;
+        }
+        return row(timestampStartMs, entity, "get", format, encoding, payload, collectionSize, samples, errors, totalBytes, contentEncoding);
+    }
+
+    private String measurePost(String entity, ContentType format, String encoding, int payload, int collectionSize, String description) {
+        long timestampStartMs = System.currentTimeMillis();
+        LatencySamples samples = new LatencySamples();
+        int errors = 0;
+        long totalBytes = 0L;
+        String contentEncoding = "";
+        for (int i = 0; i < ITERATIONS; i++) {
+            String body = entityBody(entity, format, RequestBodies.randomTitle("neg", RAND), description);
+            long t0 = System.nanoTime();
+            Response r = given()
+                    .config(RAW_CONFIG)
+                    .contentType(format)
+                    .accept(format)
+                    .header("Accept-Encoding", encoding)
+                    .body(body)
+                    .when()
+                    .post("/" + entity);
+            byte[] responseBody = r.asByteArray();
+            long elapsedNs = System.nanoTime() - t0;
+            int status = r.statusCode();
+            if (status < 200 || status >= 300) {
+                errors++;
+                continue;
+            }
+            samples.record(elapsedNs);
+            totalBytes += responseBody.length;
+            String ce = r.getHeader("Content-Encoding");
+            if (ce != null) contentEncoding = ce;
+            // Body stays gzip-encoded when the server honours it, so trackCreated prefers the Location header
+            trackCreated(r);
+        }
+        // Keep the collection at its nominal size for the next GET cell
+        while (createdIds.size() > collectionSize) {
+            String id = createdIds.takeLast();
+            given().when().delete("/" + entity + "/" + id);
+        }
+        return row(timestampStartMs, entity, "post", format, encoding, payload, collectionSize, samples, errors, totalBytes, contentEncoding);
+    }
+
+    private void seedTo(String entity, int collectionSize, String description) {
+        int attempts = 0;
+        while (createdIds.size() < collectionSize && attempts < collectionSize * 5) {
+            attempts++;
+            Response r = given()
+                    .contentType(ContentType.JSON)
+                    .body(entityBody(entity, ContentType.JSON, RequestBodies.randomTitle("seed", RAND), description))
+                    .when()
+                    .post("/" + entity);
+            int status = r.then().extract().statusCode();
+            if (status >= 200 && status < 300) {
+                String id = extractId(r.then(), "/" + entity);
+                if (id != null) createdIds.add(id);
+            }
+        }
+    }
+
+    private void trackCreated(Response r) {
+        int status = r.getStatusCode();
+        if (status < 200 || status >= 300) return;
+        String loc = r.getHeader("Location");
+        if (loc != null) {
+            int idx = loc.lastIndexOf('/');
+            if (idx >= 0 && idx < loc.length() - 1) {
+                createdIds.add(loc.substring(idx + 1));
+                return;
+            }
+        }
+        if (r.getHeader("Content-Encoding") == null) {
+            try {
+                Object id = r.getContentType().contains("xml")
+                        ? r.xmlPath().getString("**.find { it.name() == 'id' }")
+                        : r.jsonPath().get("id");
+                if (id != null && !String.valueOf(id).isEmpty()) createdIds.add(String.valueOf(id));
+            } catch (Exception ignored) {}
+        }
+    }
+
+    private static String row(long timestampStartMs, String entity, String operation, ContentType format, String encoding,
+                              int payload, int collectionSize, LatencySamples samples, int errors, long totalBytes,
+                              String contentEncoding) {
+        String startLocal = localTime(timestampStartMs);
+        int ok = samples.count();
+        double avgMs = samples.meanMs();
+        // Time spent on successful exchanges only, matching the bytes they returned
+        double okSeconds = ok * avgMs / 1000.0;
+        double bytesPerSec = ok == 0 || okSeconds == 0 ? Double.NaN : totalBytes / okSeconds;
+        return timestampStartMs + "," + startLocal + "," + entity + "," + operation + "," + formatName(format) + "," + encoding + "," +
+                payload + "," + collectionSize + "," + (ok + errors) + "," + errors + "," +
+                round4(avgMs) + "," + round4(samples.percentileMs(0.50)) + "," + round4(samples.percentileMs(0.99)) + "," +
+                round4(ok == 0 ? Double.NaN : (double) totalBytes / ok) + "," + round4(bytesPerSec) + "," + contentEncoding;
+    }
+
+    private static void write(PrintWriter pw, String line) {
+        System.out.println(line);
+        pw.println(line);
+        pw.flush();
+    }
+
+    private static String entityBody(String entity, ContentType format, String title, String description) {
+        if (format == ContentType.XML) {
+            String root = "todos".equals(entity) ? "todo" : "project";
+            return "<" + root + "><title>" + title + "</title><description>" + description + "</description></" + root + ">";
+        }
+        return "{\"title\":\"" + title + "\",\"description\":\"" + description + "\"}";
+    }
+
+    private static String payloadOfSize(int bytes) {
+        // Alphanumeric only so the same string is valid inside JSON and XML without escaping
+        StringBuilder sb = new StringBuilder(bytes);
+        while (sb.length() < bytes) {
+            // >>> 1 rather than Math.abs, which leaves Long.MIN_VALUE negative and would emit a '-'
+            sb.append(Long.toString(RAND.nextLong() >>> 1, 36));
+        }
+        sb.setLength(bytes);
+        return sb.toString();
+    }
+
+    private static String formatName(ContentType format) {
+        return format == ContentType.XML ? "xml" : "json";
+    }
+}
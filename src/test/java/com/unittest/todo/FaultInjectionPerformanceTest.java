@@ -0,0 +1,124 @@
+package com.unittest.todo;
+
+import com.unittest.todo.fault.FaultProfile;
+import com.unittest.todo.fault.FaultProxy;
+import com.unittest.todo.perf.ExperimentPlan;
+import com.unittest.todo.perf.PerfEngine;
+import com.unittest.todo.standin.StandInServerExtension;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static com.unittest.todo.perf.CsvFormat.localTime;
+import static com.unittest.todo.perf.CsvFormat.round4;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Degraded-service experiments through {@link FaultProxy}, against the stand-in so the only latency
+ * that matters is the injected one. The first test checks that percentiles measured by the harness
+ * track the injected delay distribution (fixed and bimodal-tail profiles, whose quantiles are exact);
+ * the second runs the {@code brownout} plan to show what the harness reports while the service degrades.
+ * {@code -Dtodo.perf.fault.plan=<plan>} picks another plan; point that plan's {@code baseUrl} at a live
+ * service to brown it out instead.
+ */
+@Tag("performance")
+@ExtendWith(StandInServerExtension.class)
+class FaultInjectionPerformanceTest extends TestAbstract {
+
+    private static final int ITERATIONS = Integer.getInteger("todo.perf.fault.iterations", 400);
+    private static final String PLAN = System.getProperty("todo.perf.fault.plan", "brownout");
+
+    @Test
+    void measuredTailTracksInjectedTail() throws Exception {
+        String upstream = RestAssured.baseURI;
+        String todoId = createTodoReturningId("fault-probe");
+        assertNotNull(todoId, "could not create the probe todo");
+
+        File outDir = new File("target/perf");
+        if (!outDir.exists()) outDir.mkdirs();
+        File csv = new File(outDir, "fault-injection.csv");
+        try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(csv, false), StandardCharsets.UTF_8))) {
+            String header = "timestamp_start_ms,start_time_local,profile,delay,requests,ok,measured_p50_ms,measured_p99_ms," +
+                    "injected_p50_ms,injected_p99_ms,expected_p99_ms,baseline_p99_ms,p99_error_ms";
+            System.out.println(header);
+            pw.println(header);
+
+            double baselineP99 = Double.NaN;
+            for (FaultProfile profile : new FaultProfile[]{FaultProfile.none(), fixedDelay(20), FaultProfile.load("tail")}) {
+                long timestampStartMs = System.currentTimeMillis();
+                double[] measured;
+                try (FaultProxy proxy = FaultProxy.start(upstream, profile, 0)) {
+                    measured = timeGets(proxy.baseUrl(), "/todos/" + todoId);
+                    double expectedP99 = profile.delay().quantileMs(0.99);
+                    if (profile.delay().isNone()) baselineP99 = measured[2];
+                    double error = measured[2] - expectedP99 - (Double.isNaN(baselineP99) ? 0 : baselineP99);
+
+                    String startLocal = localTime(timestampStartMs);
+                    String line = timestampStartMs + "," + startLocal + "," + profile.name() + "," + profile.delay() + "," +
+                            ITERATIONS + "," + (long) measured[0] + "," + round4(measured[1]) + "," + round4(measured[2]) + "," +
+                            round4(proxy.injectedDelay().percentileMs(0.50)) + "," + round4(proxy.injectedDelay().percentileMs(0.99)) + "," +
+                            round4(expectedP99) + "," + round4(baselineP99) + "," + round4(error);
+                    System.out.println(line);
+                    pw.println(line);
+                    pw.flush();
+
+                    assertTrue(measured[0] == ITERATIONS, profile.name() + ": " + (ITERATIONS - (long) measured[0]) + " requests failed");
+                    // Sleeps can overshoot but never undershoot, so the measured tail must cover the injected one...
+                    assertTrue(measured[2] >= expectedP99,
+                            profile.name() + ": measured p99 " + round4(measured[2]) + " ms below injected p99 " + round4(expectedP99) + " ms");
+                    // ...and should not exceed it by much more than the proxy's own baseline tail
+                    double tolerance = Math.max(10.0, 0.2 * expectedP99);
+                    assertTrue(error <= tolerance,
+                            profile.name() + ": measured p99 exceeds injected p99 + baseline by " + round4(error) + " ms");
+                }
+            }
+        } finally {
+            given().when().delete("/todos/" + todoId);
+        }
+    }
+
+    @Test
+    void runPlanThroughFaultProxy() throws Exception {
+        new PerfEngine(ExperimentPlan.load(PLAN)).run();
+    }
+
+    /** {count of 2xx, p50 ms, p99 ms} over {@link #ITERATIONS} GETs. */
+    private static double[] timeGets(String baseUrl, String path) {
+        long[] samplesNs = new long[ITERATIONS];
+        int ok = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long t0 = System.nanoTime();
+            int status = given().baseUri(baseUrl).when().get(path).then().extract().statusCode();
+            long dtNs = System.nanoTime() - t0;
+            if (status >= 200 && status < 300) samplesNs[ok++] = dtNs;
+        }
+        long[] sorted = Arrays.copyOf(samplesNs, ok);
+        Arrays.sort(sorted);
+        return new double[]{ok, percentileMs(sorted, 0.50), percentileMs(sorted, 0.99)};
+    }
+
+    private static FaultProfile fixedDelay(int ms) {
+        Properties p = new Properties();
+        p.setProperty("name", "fixed-" + ms + "ms");
+        p.setProperty("delay", "fixed:" + ms);
+        return FaultProfile.fromProperties(p);
+    }
+
+    private static double percentileMs(long[] sortedNs, double p) {
+        if (sortedNs.length == 0) return Double.NaN;
+        int idx = (int) Math.ceil(p * sortedNs.length) - 1;
+        idx = Math.max(0, Math.min(sortedNs.length - 1, idx));
+        return sortedNs[idx] / 1_000_000.0;
+    }
+}
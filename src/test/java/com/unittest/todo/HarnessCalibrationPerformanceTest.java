@@ -0,0 +1,53 @@
+package com.unittest.todo;
+
+import com.unittest.todo.perf.ExperimentPlan;
+import com.unittest.todo.perf.HarnessCalibration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import static com.unittest.todo.perf.CsvFormat.localTime;
+
+/**
+ * Calibration suite: how much of a reported latency is the harness itself. Every entity of the plan is
+ * driven through the engine's request code against a zero-work loopback responder; needs no service.
+ * One untimed pass comes first so the rows show the warmed-up client; engine runs do a shorter version
+ * of this before each cell and carry the result in their rows.
+ */
+@Tag("performance")
+class HarnessCalibrationPerformanceTest {
+
+    private static final int ITERATIONS = Integer.getInteger("todo.perf.calibration.iterations", 2000);
+    private static final String PLAN = System.getProperty("todo.perf.plan", "smoke");
+
+    @Test
+    void calibrateHarnessOverhead() throws Exception {
+        ExperimentPlan plan = ExperimentPlan.load(PLAN);
+        File outDir = new File("target/perf");
+        if (!outDir.exists()) outDir.mkdirs();
+        File csv = new File(outDir, "harness-calibration.csv");
+
+        try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(csv, false), StandardCharsets.UTF_8))) {
+            String header = "timestamp_start_ms,start_time_local," + HarnessCalibration.header();
+            System.out.println(header);
+            pw.println(header);
+            HarnessCalibration.run(plan, plan.entities().get(0), ITERATIONS);
+            for (String entity : plan.entities()) {
+                long timestampStartMs = System.currentTimeMillis();
+                String startLocal = localTime(timestampStartMs);
+                HarnessCalibration cal = HarnessCalibration.run(plan, entity, ITERATIONS);
+                for (String row : cal.rows()) {
+                    String line = timestampStartMs + "," + startLocal + "," + row;
+                    System.out.println(line);
+                    pw.println(line);
+                }
+                pw.flush();
+            }
+        }
+    }
+}
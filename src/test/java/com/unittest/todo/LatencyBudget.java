@@ -0,0 +1,35 @@
+package com.unittest.todo;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Latency budget for a test, used instead of {@code @Test} the way {@code @RepeatedTest} is: the method
+ * runs {@link #warmup()} untimed times, then {@link #repetitions()} timed times, and the last run fails
+ * with a percentile summary if the {@link #percentile()} latency exceeds {@link #percentileMs()} or any
+ * run exceeds {@link #maxMs()}. Every run is a full JUnit invocation with its own {@code @BeforeEach}
+ * and {@code @AfterEach}; only the method body is timed, so per-run fixtures stay out of the budget.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@TestTemplate
+@ExtendWith(LatencyBudgetExtension.class)
+public @interface LatencyBudget {
+
+    int repetitions() default 20;
+
+    int warmup() default 2;
+
+    double percentile() default 99.0;
+
+    /** Budget for the {@link #percentile()} latency; negative disables the check. */
+    double percentileMs() default -1;
+
+    /** Budget for the slowest timed run; negative disables the check. */
+    double maxMs() default -1;
+}
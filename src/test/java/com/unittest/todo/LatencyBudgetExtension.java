@@ -0,0 +1,111 @@
+package com.unittest.todo;
+
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.opentest4j.AssertionFailedError;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Enforces {@link LatencyBudget}. Each warm-up and timed run is its own template invocation, so
+ * lifecycle methods, other interceptors and parameter resolution apply to every run. The timed runs
+ * share one sample list; the final run checks it against the budget.
+ */
+public class LatencyBudgetExtension implements TestTemplateInvocationContextProvider {
+
+    @Override
+    public boolean supportsTestTemplate(ExtensionContext context) {
+        return context.getTestMethod().map(m -> m.isAnnotationPresent(LatencyBudget.class)).orElse(false);
+    }
+
+    @Override
+    public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+        LatencyBudget budget = context.getRequiredTestMethod().getAnnotation(LatencyBudget.class);
+        int warmup = Math.max(0, budget.warmup());
+        int repetitions = Math.max(1, budget.repetitions());
+        long[] samplesNs = new long[repetitions];
+        return IntStream.range(0, warmup + repetitions)
+                .mapToObj(i -> new Run(budget, samplesNs, i - warmup, warmup));
+    }
+
+    /** One invocation; {@code index} is negative for warm-up runs and 0-based for timed runs. */
+    private static final class Run implements TestTemplateInvocationContext, InvocationInterceptor {
+
+        private final LatencyBudget budget;
+        private final long[] samplesNs;
+        private final int index;
+        private final int warmup;
+
+        Run(LatencyBudget budget, long[] samplesNs, int index, int warmup) {
+            this.budget = budget;
+            this.samplesNs = samplesNs;
+            this.index = index;
+            this.warmup = warmup;
+        }
+
+        @Override
+        public String getDisplayName(int invocationIndex) {
+            return index < 0
+                    ? "warm-up " + (index + warmup + 1) + " of " + warmup
+                    : "run " + (index + 1) + " of " + samplesNs.length;
+        }
+
+        @Override
+        public List<Extension> getAdditionalExtensions() {
+            return List.of(this);
+        }
+
+        @Override
+        public void interceptTestTemplateMethod(Invocation<Void> invocation,
+                                                ReflectiveInvocationContext<Method> invocationContext,
+                                                ExtensionContext extensionContext) throws Throwable {
+            long t0 = System.nanoTime();
+            invocation.proceed();
+            long elapsedNs = System.nanoTime() - t0;
+            if (index < 0) return;
+            samplesNs[index] = elapsedNs;
+            if (index == samplesNs.length - 1) check(invocationContext.getExecutable().getName());
+        }
+
+        private void check(String methodName) {
+            // A run that threw has already failed on its own and left its slot at 0
+            long[] sorted = Arrays.stream(samplesNs).filter(ns -> ns > 0).sorted().toArray();
+            if (sorted.length == 0) return;
+            double pMs = percentileMs(sorted, budget.percentile() / 100.0);
+            double maxMs = sorted[sorted.length - 1] / 1_000_000.0;
+            boolean overPercentile = budget.percentileMs() >= 0 && pMs > budget.percentileMs();
+            boolean overMax = budget.maxMs() >= 0 && maxMs > budget.maxMs();
+            if (overPercentile || overMax) {
+                throw new AssertionFailedError(String.format(Locale.ROOT,
+                        "Latency budget exceeded for %s over %d runs: p50=%.2f ms, p90=%.2f ms, p%s=%.2f ms, max=%.2f ms (budget: p%s<=%s ms, max<=%s ms)",
+                        methodName, sorted.length,
+                        percentileMs(sorted, 0.50), percentileMs(sorted, 0.90),
+                        label(budget.percentile()), pMs, maxMs,
+                        label(budget.percentile()), limit(budget.percentileMs()), limit(budget.maxMs())));
+            }
+        }
+    }
+
+    private static double percentileMs(long[] sortedNs, double p) {
+        int idx = (int) Math.ceil(p * sortedNs.length) - 1;
+        idx = Math.max(0, Math.min(sortedNs.length - 1, idx));
+        return sortedNs[idx] / 1_000_000.0;
+    }
+
+    private static String label(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    private static String limit(double ms) {
+        return ms < 0 ? "-" : String.format(Locale.ROOT, "%.2f", ms);
+    }
+}
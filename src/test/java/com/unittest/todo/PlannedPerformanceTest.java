@@ -0,0 +1,21 @@
+package com.unittest.todo;
+
+import com.unittest.todo.perf.ExperimentPlan;
+import com.unittest.todo.perf.PerfEngine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the plan named by {@code -Dtodo.perf.plan} (a file path or a bundled name such as
+ * {@code smoke} or {@code capacity}).
+ */
+@Tag("performance")
+class PlannedPerformanceTest extends TestAbstract {
+
+    private static final String PLAN = System.getProperty("todo.perf.plan", "smoke");
+
+    @Test
+    void runPlannedExperiment() throws Exception {
+        new PerfEngine(ExperimentPlan.load(PLAN)).run();
+    }
+}
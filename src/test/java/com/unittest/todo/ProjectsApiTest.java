@@ -15,7 +15,7 @@ import org.junit.jupiter.api.Tag;
 @Tag("expected")
 class ProjectsApiExpectedTest extends TestAbstract {
 
-    @Test
+    @LatencyBudget(repetitions = 50, percentileMs = 250, maxMs = 1000)
     void getAllProjects() {
         given().when().get("/projects").then().statusCode(200);
     }
@@ -0,0 +1,24 @@
+package com.unittest.todo;
+
+import com.unittest.todo.perf.ExperimentPlan;
+import com.unittest.todo.perf.PerfEngine;
+import com.unittest.todo.standin.StandInServerExtension;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Runs a plan against the in-process stand-in: a deterministic target whose cost is close to zero, so
+ * the numbers are an upper bound on what the harness itself can drive.
+ */
+@Tag("performance")
+@ExtendWith(StandInServerExtension.class)
+class StandInPerformanceTest extends TestAbstract {
+
+    private static final String PLAN = System.getProperty("todo.perf.standin.plan", "smoke");
+
+    @Test
+    void runPlanAgainstStandIn() throws Exception {
+        new PerfEngine(ExperimentPlan.load(PLAN)).run();
+    }
+}
@@ -1,17 +1,52 @@
 package com.unittest.todo;
 
+import com.unittest.todo.fault.FaultProfile;
+import com.unittest.todo.fault.FaultProxy;
+import com.unittest.todo.perf.ResponseParsing;
+import com.unittest.todo.perf.RouteStatsFilter;
+import com.unittest.todo.standin.StandInServerExtension;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import io.restassured.response.ValidatableResponse;
-import io.restassured.response.Response;
 
 import static io.restassured.RestAssured.given;
 
 public abstract class TestAbstract {
-    protected static final String BASE_URL = System.getProperty("todo.baseUrl", "http://localhost:4567");
+    protected static final String BASE_URL = resolveBaseUrl();
 
     static {
         RestAssured.baseURI = BASE_URL;
+        // Per-route latency profile of every run; summary lands in target/perf/route-latency.csv.
+        // PerfEngine requests opt out, so engine-driven results stay comparable with PerfMain runs
+        if (Boolean.parseBoolean(System.getProperty("todo.routeStats", "true"))) {
+            RestAssured.filters(RouteStatsFilter.install());
+        }
+    }
+
+    /**
+     * {@code -Dtodo.standin=true} runs every suite against the in-process stand-in instead of a live service;
+     * {@code -Dtodo.fault=<profile>} additionally routes everything through a {@link FaultProxy}.
+     */
+    private static String resolveBaseUrl() {
+        String url = System.getProperty("todo.baseUrl", "http://localhost:4567");
+        try {
+            if (Boolean.getBoolean("todo.standin")) {
+                url = StandInServerExtension.shared().baseUrl();
+            }
+            String fault = System.getProperty("todo.fault", "");
+            if (!fault.isEmpty()) {
+                FaultProxy proxy = FaultProxy.start(url, FaultProfile.load(fault), 0);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    System.out.println("# " + proxy.summary());
+                    proxy.close();
+                }, "fault-proxy-shutdown"));
+                url = proxy.baseUrl();
+            }
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException("Could not start stand-in server or fault proxy", e);
+        }
+        System.setProperty("todo.baseUrl", url);
+        return url;
     }
 
     protected ValidatableResponse createTodoJson(String title) {
@@ -34,6 +69,31 @@ public abstract class TestAbstract {
                 .then();
     }
 
+    protected ValidatableResponse createCategoryJson(String title) {
+        String body = "{\"title\":\"" + title + "\"}";
+        return given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .post("/categories")
+                .then();
+    }
+
+    /** {@code POST /projects/{projectId}/tasks}; returns the status code. */
+    protected int linkTaskToProject(String projectId, String todoId) {
+        return requestStatus("POST", "/projects/" + projectId + "/tasks", "{\"id\":\"" + todoId + "\"}", ContentType.JSON);
+    }
+
+    /** {@code POST /todos/{todoId}/categories}; returns the status code. */
+    protected int linkCategoryToTodo(String todoId, String categoryId) {
+        return requestStatus("POST", "/todos/" + todoId + "/categories", "{\"id\":\"" + categoryId + "\"}", ContentType.JSON);
+    }
+
+    /** {@code POST /todos/{todoId}} with {@code doneStatus=true}; returns the status code. */
+    protected int completeTodo(String todoId) {
+        return requestStatus("POST", "/todos/" + todoId, "{\"doneStatus\":true}", ContentType.JSON);
+    }
+
     protected int requestStatus(String method, String path) {
         return requestStatus(method, path, null, null);
     }
@@ -81,39 +141,18 @@ public abstract class TestAbstract {
         return extractId(vr, "/projects");
     }
 
+    protected String createCategoryReturningId(String title) {
+        ValidatableResponse vr = createCategoryJson(title);
+        return extractId(vr, "/categories");
+    }
+
     protected String extractId(ValidatableResponse vr, String resourcePath) {
-        Response r = vr.extract().response();
-        String location = r.getHeader("Location");
-        if (location != null && !location.isEmpty()) {
-            int idx = location.lastIndexOf('/');
-            if (idx >= 0 && idx < location.length() - 1) {
-                return location.substring(idx + 1);
-            }
-        }
-        try {
-            Object id = r.jsonPath().get("id");
-            if (id != null) {
-                return String.valueOf(id);
-            }
-        } catch (Exception ignored) {
-        }
-        return null;
+        return ResponseParsing.extractId(vr.extract().response());
     }
 
     protected int getCount(String collectionPath) {
         try {
-            Response r = given().when().get(collectionPath);
-            String keyFromPath = collectionPath.startsWith("/") ? collectionPath.substring(1) : collectionPath;
-            int slash = keyFromPath.indexOf('/');
-            if (slash > 0) keyFromPath = keyFromPath.substring(0, slash);
-            try {
-                java.util.List<?> list = r.jsonPath().getList(keyFromPath);
-                if (list != null) return list.size();
-            } catch (Exception ignored) {}
-            try {
-                java.util.List<?> list = r.jsonPath().getList("$");
-                if (list != null) return list.size();
-            } catch (Exception ignored) {}
+            return ResponseParsing.count(given().when().get(collectionPath), collectionPath);
         } catch (Exception ignoredOuter) {}
         return -1;
     }
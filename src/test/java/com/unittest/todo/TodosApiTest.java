@@ -2,6 +2,9 @@ package com.unittest.todo;
 
 import io.restassured.http.ContentType;
 import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import static io.restassured.RestAssured.given;
@@ -14,11 +17,34 @@ import org.junit.jupiter.api.Tag;
 @Tag("expected")
 class TodosApiExpectedTest extends TestAbstract {
 
-    @Test
+    @LatencyBudget(repetitions = 50, percentileMs = 250, maxMs = 1000)
     void getAllTodos() {
         given().when().get("/todos").then().statusCode(200);
     }
 
+    /** Every budget run gets a fresh todo, so only the GET itself is timed. */
+    @Nested
+    class TodoById {
+
+        private String todoId;
+
+        @BeforeEach
+        void createTodo() {
+            todoId = createTodoReturningId("latency budget todo");
+            assertTrue(todoId != null && !todoId.isEmpty());
+        }
+
+        @AfterEach
+        void deleteTodo() {
+            if (todoId != null) requestStatus("DELETE", "/todos/" + todoId);
+        }
+
+        @LatencyBudget(repetitions = 50, percentileMs = 100, maxMs = 500)
+        void getTodoByIdWithinBudget() {
+            given().when().get("/todos/" + todoId).then().statusCode(200);
+        }
+    }
+
     @Test
     void optionsTodos() {
         given()
@@ -0,0 +1,233 @@
+package com.unittest.todo;
+
+import com.unittest.todo.perf.LatencySamples;
+import com.unittest.todo.perf.RequestBodies;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.unittest.todo.perf.CsvFormat.localTime;
+import static com.unittest.todo.perf.CsvFormat.round4;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times the multi-entity flow a user actually performs, as one transaction: create a project, create
+ * {@code todo.perf.workflow.todos} todos, link them as the project's tasks, tag each with a category,
+ * list the project's tasks, complete half of the todos and delete everything again. Every concurrency
+ * level in {@code todo.perf.workflow.concurrency} runs {@code todo.perf.workflow.flowsPerWorker} flows
+ * per worker; one row per level reports flows/sec, whole-flow percentiles and the per-step breakdown.
+ * A flow that hits an unexpected status is counted as failed and left out of the percentiles.
+ */
+@Tag("performance")
+class WorkflowPerformanceTest extends TestAbstract {
+
+    private static final int[] CONCURRENCY = parseLevels(System.getProperty("todo.perf.workflow.concurrency", "1,2,4,8"));
+    private static final int FLOWS_PER_WORKER = Integer.getInteger("todo.perf.workflow.flowsPerWorker", 20);
+    private static final int TODOS_PER_FLOW = Integer.getInteger("todo.perf.workflow.todos", 5);
+    private static final int WARMUP_FLOWS = 3;
+    private static final String[] STEPS = new String[]{
+            "create_project", "create_todos", "link_tasks", "tag_todos", "list_tasks", "complete_todos", "delete"
+    };
+    private static final Random RAND = new Random(42);
+
+    private String categoryId;
+
+    @Test
+    void runWorkflowExperiment() throws Exception {
+        File outDir = new File("target/perf");
+        if (!outDir.exists()) outDir.mkdirs();
+        File csv = new File(outDir, "workflow.csv");
+
+        categoryId = createCategoryReturningId(RequestBodies.randomTitle("wf-category", RAND));
+        assertTrue(categoryId != null && !categoryId.isEmpty(), "could not create the shared category");
+        try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(csv, false), StandardCharsets.UTF_8))) {
+            String header = header();
+            System.out.println(header);
+            pw.println(header);
+
+            for (int i = 0; i < WARMUP_FLOWS; i++) runFlow(null, null);
+            for (int threads : CONCURRENCY) {
+                String line = runLevel(threads);
+                System.out.println(line);
+                pw.println(line);
+                pw.flush();
+            }
+        } finally {
+            given().when().delete("/categories/" + categoryId);
+        }
+    }
+
+    private String runLevel(int threads) throws InterruptedException {
+        LatencySamples flowSamples = new LatencySamples();
+        Map<String, LatencySamples> stepSamples = new LinkedHashMap<>();
+        for (String step : STEPS) stepSamples.put(step, new LatencySamples());
+        AtomicInteger failed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long timestampStartMs = System.currentTimeMillis();
+        long t0 = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int f = 0; f < FLOWS_PER_WORKER; f++) {
+                        if (!runFlow(flowSamples, stepSamples)) failed.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            t0 = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Workflow worker failed", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        double wallSeconds = (System.nanoTime() - t0) / 1_000_000_000.0;
+        long timestampEndMs = System.currentTimeMillis();
+
+        int completed = flowSamples.count();
+        String startLocal = localTime(timestampStartMs);
+        StringBuilder sb = new StringBuilder();
+        sb.append(timestampStartMs).append(',').append(startLocal).append(',').append(timestampEndMs).append(',')
+                .append(threads).append(',').append(TODOS_PER_FLOW).append(',').append(completed).append(',')
+                .append(failed.get()).append(',').append(round4(completed / wallSeconds)).append(',')
+                .append(round4(flowSamples.meanMs())).append(',')
+                .append(round4(flowSamples.percentileMs(0.50))).append(',')
+                .append(round4(flowSamples.percentileMs(0.95))).append(',')
+                .append(round4(flowSamples.percentileMs(0.99)));
+        for (String step : STEPS) {
+            LatencySamples s = stepSamples.get(step);
+            sb.append(',').append(round4(s.meanMs()))
+                    .append(',').append(round4(s.percentileMs(0.50)))
+                    .append(',').append(round4(s.percentileMs(0.99)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * One flow; timings are recorded only when every step returned the expected status, so a failed flow
+     * never shortens the percentiles. A request that throws (reset, timeout) fails the flow rather than
+     * the whole level. Entities a failed flow created are still deleted (untimed).
+     * Returns whether the flow succeeded.
+     */
+    private boolean runFlow(LatencySamples flowSamples, Map<String, LatencySamples> stepSamples) {
+        long[] stepNs = new long[STEPS.length];
+        List<String> todoIds = new ArrayList<>(TODOS_PER_FLOW);
+        String projectId = null;
+        boolean ok = false;
+        long flowStart = System.nanoTime();
+        try {
+            long t = System.nanoTime();
+            projectId = createProjectReturningId(RequestBodies.randomTitle("wf-project", RAND));
+            if (projectId == null) return false;
+            stepNs[0] = System.nanoTime() - t;
+
+            t = System.nanoTime();
+            for (int i = 0; i < TODOS_PER_FLOW; i++) {
+                String id = createTodoReturningId(RequestBodies.randomTitle("wf-todo", RAND));
+                if (id == null) return false;
+                todoIds.add(id);
+            }
+            stepNs[1] = System.nanoTime() - t;
+
+            t = System.nanoTime();
+            for (String id : todoIds) {
+                if (linkTaskToProject(projectId, id) != 201) return false;
+            }
+            stepNs[2] = System.nanoTime() - t;
+
+            t = System.nanoTime();
+            for (String id : todoIds) {
+                if (linkCategoryToTodo(id, categoryId) != 201) return false;
+            }
+            stepNs[3] = System.nanoTime() - t;
+
+            t = System.nanoTime();
+            if (requestStatus("GET", "/projects/" + projectId + "/tasks") != 200) return false;
+            stepNs[4] = System.nanoTime() - t;
+
+            t = System.nanoTime();
+            for (int i = 0; i < todoIds.size(); i += 2) {
+                if (completeTodo(todoIds.get(i)) != 200) return false;
+            }
+            stepNs[5] = System.nanoTime() - t;
+
+            t = System.nanoTime();
+            while (!todoIds.isEmpty()) {
+                if (requestStatus("DELETE", "/todos/" + todoIds.get(todoIds.size() - 1)) != 200) return false;
+                todoIds.remove(todoIds.size() - 1);
+            }
+            int projectDelete = requestStatus("DELETE", "/projects/" + projectId);
+            projectId = null;
+            if (projectDelete != 200) return false;
+            stepNs[6] = System.nanoTime() - t;
+
+            ok = true;
+        } catch (RuntimeException e) {
+            return false;
+        } finally {
+            long flowNs = System.nanoTime() - flowStart;
+            if (ok && flowSamples != null) {
+                flowSamples.record(flowNs);
+                for (int s = 0; s < STEPS.length; s++) stepSamples.get(STEPS[s]).record(stepNs[s]);
+            }
+            for (String id : todoIds) deleteQuietly("/todos/" + id);
+            if (projectId != null) deleteQuietly("/projects/" + projectId);
+        }
+        return true;
+    }
+
+    private static void deleteQuietly(String path) {
+        try {
+            given().when().delete(path);
+        } catch (RuntimeException e) {
+            // Best-effort cleanup of a failed flow; the flow is already counted as failed
+        }
+    }
+
+    private static String header() {
+        StringBuilder sb = new StringBuilder("timestamp_start_ms,start_time_local,timestamp_end_ms,concurrency,todos_per_flow," +
+                "flows,failed_flows,flows_per_sec,flow_mean_ms,flow_p50_ms,flow_p95_ms,flow_p99_ms");
+        for (String step : STEPS) {
+            sb.append(',').append(step).append("_mean_ms")
+                    .append(',').append(step).append("_p50_ms")
+                    .append(',').append(step).append("_p99_ms");
+        }
+        return sb.toString();
+    }
+
+    private static int[] parseLevels(String csv) {
+        String[] parts = csv.split(",");
+        int[] levels = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            levels[i] = Integer.parseInt(parts[i].trim());
+            if (levels[i] < 1) throw new IllegalArgumentException("Concurrency must be >= 1: " + csv);
+        }
+        return levels;
+    }
+}
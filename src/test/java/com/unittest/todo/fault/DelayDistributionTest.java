@@ -0,0 +1,48 @@
+package com.unittest.todo.fault;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DelayDistributionTest {
+
+    @Test
+    void parsesAndPrintsEveryKind() {
+        for (String spec : new String[]{"none", "fixed:20", "uniform:5:50", "exponential:15", "lognormal:20:0.6", "bimodal:0.05:2:200"}) {
+            assertEquals(spec, DelayDistribution.parse(spec).toString());
+        }
+        assertTrue(DelayDistribution.parse("fixed:0").isNone());
+    }
+
+    @Test
+    void rejectsBadSpecs() {
+        assertThrows(IllegalArgumentException.class, () -> DelayDistribution.parse("gamma:2"));
+        assertThrows(IllegalArgumentException.class, () -> DelayDistribution.parse("uniform:5"));
+        assertThrows(IllegalArgumentException.class, () -> DelayDistribution.parse("uniform:50:5"));
+        assertThrows(IllegalArgumentException.class, () -> DelayDistribution.parse("fixed:-1"));
+        assertThrows(IllegalArgumentException.class, () -> DelayDistribution.parse("bimodal:1.5:1:2"));
+    }
+
+    @Test
+    void quantilesMatchSampledDistribution() {
+        Random rand = new Random(7);
+        for (String spec : new String[]{"uniform:5:50", "exponential:15", "lognormal:20:0.6"}) {
+            DelayDistribution d = DelayDistribution.parse(spec);
+            double[] samples = new double[200_000];
+            for (int i = 0; i < samples.length; i++) samples[i] = d.sampleMs(rand);
+            Arrays.sort(samples);
+            for (double p : new double[]{0.5, 0.9, 0.99}) {
+                double empirical = samples[(int) (p * samples.length)];
+                assertEquals(d.quantileMs(p), empirical, 0.03 * d.quantileMs(p), spec + " p" + p);
+            }
+        }
+        DelayDistribution tail = DelayDistribution.parse("bimodal:0.05:1:150");
+        assertEquals(1.0, tail.quantileMs(0.95));
+        assertEquals(150.0, tail.quantileMs(0.99));
+    }
+}
@@ -0,0 +1,60 @@
+package com.unittest.todo.fault;
+
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * Puts a {@link FaultProxy} between a test class and whatever RestAssured currently points at (the
+ * live service, or the stand-in when registered after {@code StandInServerExtension}). The profile is
+ * {@code -Dtodo.fault.profile} (default {@code brownout}). RestAssured's base URI and the
+ * {@code todo.baseUrl} property are switched for the class and restored after it; test methods can
+ * take the running {@link FaultProxy} as a parameter to read what it injected.
+ */
+public class FaultProxyExtension implements BeforeAllCallback, AfterAllCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NS = ExtensionContext.Namespace.create(FaultProxyExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) throws Exception {
+        // Static setup (TestAbstract aims RestAssured at the service) must run before upstream is read
+        Class<?> testClass = context.getRequiredTestClass();
+        Class.forName(testClass.getName(), true, testClass.getClassLoader());
+        ExtensionContext.Store store = context.getStore(NS);
+        String upstream = RestAssured.baseURI;
+        FaultProxy proxy = FaultProxy.start(upstream, FaultProfile.load(System.getProperty("todo.fault.profile", "brownout")), 0);
+        store.put("baseURI", upstream);
+        store.put("todo.baseUrl", System.getProperty("todo.baseUrl"));
+        store.put("proxy", proxy);
+        RestAssured.baseURI = proxy.baseUrl();
+        System.setProperty("todo.baseUrl", proxy.baseUrl());
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        ExtensionContext.Store store = context.getStore(NS);
+        FaultProxy proxy = store.get("proxy", FaultProxy.class);
+        System.out.println("# " + proxy.summary());
+        proxy.close();
+        RestAssured.baseURI = store.get("baseURI", String.class);
+        String previous = store.get("todo.baseUrl", String.class);
+        if (previous == null) {
+            System.clearProperty("todo.baseUrl");
+        } else {
+            System.setProperty("todo.baseUrl", previous);
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == FaultProxy.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NS).get("proxy", FaultProxy.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.unittest.todo.fault;
+
+import com.unittest.todo.standin.StandInServerExtension;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Properties;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(StandInServerExtension.class)
+class FaultProxyTest {
+
+    @Test
+    void relaysRequestsUnchangedWithoutFaults() throws Exception {
+        try (FaultProxy proxy = FaultProxy.start(RestAssured.baseURI, FaultProfile.none(), 0)) {
+            Response created = given().baseUri(proxy.baseUrl()).contentType(ContentType.JSON)
+                    .body("{\"title\":\"via-proxy\"}").when().post("/todos");
+            assertEquals(201, created.statusCode());
+            String id = created.jsonPath().getString("id");
+            assertTrue(created.getHeader("Location").endsWith("/todos/" + id));
+            assertEquals("close", created.getHeader("Connection"));
+
+            Response read = given().baseUri(proxy.baseUrl()).when().get("/todos/" + id);
+            assertEquals("via-proxy", read.jsonPath().getString("todos[0].title"));
+            assertEquals(404, given().baseUri(proxy.baseUrl()).when().get("/todos/999999").statusCode());
+            assertEquals(200, given().baseUri(proxy.baseUrl()).when().delete("/todos/" + id).statusCode());
+            assertEquals(4, proxy.requests());
+            assertEquals(0, proxy.injectedErrors() + proxy.resets() + proxy.upstreamFailures());
+        }
+    }
+
+    @Test
+    void injectsErrorBursts() throws Exception {
+        Properties p = new Properties();
+        p.setProperty("errors.burstProbability", "1");
+        p.setProperty("errors.burstLength", "3");
+        p.setProperty("errors.status", "503");
+        try (FaultProxy proxy = FaultProxy.start(RestAssured.baseURI, FaultProfile.fromProperties(p), 0)) {
+            for (int i = 0; i < 5; i++) {
+                Response r = given().baseUri(proxy.baseUrl()).when().get("/todos");
+                assertEquals(503, r.statusCode());
+                assertEquals("Injected fault", r.jsonPath().getString("errorMessages[0]"));
+            }
+            assertEquals(5, proxy.injectedErrors());
+        }
+    }
+
+    @Test
+    void resetsConnections() throws Exception {
+        Properties p = new Properties();
+        p.setProperty("reset.probability", "1");
+        try (FaultProxy proxy = FaultProxy.start(RestAssured.baseURI, FaultProfile.fromProperties(p), 0)) {
+            assertThrows(Exception.class, () -> given().baseUri(proxy.baseUrl()).when().get("/todos"));
+            // HttpClient's default retry handler resends idempotent requests, so one call may see several resets
+            assertTrue(proxy.resets() >= 1);
+            assertEquals(proxy.requests(), proxy.resets());
+        }
+    }
+
+    @Test
+    void delaysAndThrottlesResponses() throws Exception {
+        Properties p = new Properties();
+        p.setProperty("delay", "fixed:40");
+        p.setProperty("bandwidthBytesPerSecond", "20000");
+        for (int i = 0; i < 20; i++) {
+            given().contentType(ContentType.JSON).body("{\"title\":\"throttle-" + i + "\"}").post("/todos");
+        }
+        try (FaultProxy proxy = FaultProxy.start(RestAssured.baseURI, FaultProfile.fromProperties(p), 0)) {
+            long t0 = System.nanoTime();
+            Response r = given().baseUri(proxy.baseUrl()).when().get("/todos");
+            double elapsedMs = (System.nanoTime() - t0) / 1_000_000.0;
+            assertEquals(200, r.statusCode());
+            long wireBytes = Long.parseLong(r.getHeader("Content-Length"));
+            double minMs = 40 + 1000.0 * wireBytes / 20000 * 0.9;
+            assertTrue(elapsedMs >= minMs, "took " + elapsedMs + " ms for " + wireBytes + " bytes, expected >= " + minMs);
+            assertEquals(40.0, proxy.injectedDelay().percentileMs(0.5), 1.5);
+        }
+    }
+}
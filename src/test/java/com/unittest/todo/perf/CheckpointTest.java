@@ -0,0 +1,56 @@
+package com.unittest.todo.perf;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckpointTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void roundTripsCompletedAndPartialCells() throws Exception {
+        File file = new File(dir, "todos.checkpoint");
+        Checkpoint cp = Checkpoint.load(file, "todos");
+        assertTrue(cp.isEmpty());
+
+        cp.phaseDone(Checkpoint.cellKey("todos", 1, 5), "create", Arrays.asList("1", "2"));
+        cp.cellDone(Checkpoint.cellKey("todos", 1, 5));
+        cp.phaseDone(Checkpoint.cellKey("todos", 1, 10), "create", Arrays.asList("7", "8", "9"));
+
+        Checkpoint reloaded = Checkpoint.load(file, "todos");
+        assertTrue(reloaded.isCompleted("todos|1|5"));
+        assertFalse(reloaded.isCompleted("todos|1|10"));
+        assertEquals("todos|1|10", reloaded.partialCell());
+        assertEquals(Arrays.asList("7", "8", "9"), reloaded.partialLiveIds());
+    }
+
+    @Test
+    void recordsCellInFlightBeforeItsFirstPhaseCompletes() throws Exception {
+        File file = new File(dir, "todos.checkpoint");
+        Checkpoint cp = Checkpoint.load(file, "todos");
+        cp.cellStarted("todos|2|100");
+        assertEquals("todos|2|100", Checkpoint.load(file, "todos").partialCell());
+        assertTrue(Checkpoint.load(file, "todos").partialLiveIds().isEmpty());
+
+        cp.liveIds(Arrays.asList("3", "4"));
+        Checkpoint reloaded = Checkpoint.load(file, "todos");
+        assertEquals("todos|2|100", reloaded.partialCell());
+        assertEquals(Arrays.asList("3", "4"), reloaded.partialLiveIds());
+    }
+
+    @Test
+    void ignoresCheckpointOfAnotherPlan() throws Exception {
+        File file = new File(dir, "shared.checkpoint");
+        Checkpoint.load(file, "todos").phaseDone("todos|1|1", "create", Collections.singletonList("1"));
+        assertTrue(Checkpoint.load(file, "categories").isEmpty());
+    }
+}
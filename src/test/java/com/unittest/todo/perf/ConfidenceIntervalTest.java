@@ -0,0 +1,42 @@
+package com.unittest.todo.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfidenceIntervalTest {
+
+    @Test
+    void quantileApproximationsMatchTables() {
+        assertEquals(1.959964, ConfidenceInterval.normalQuantile(0.975), 1e-5);
+        assertEquals(-2.326348, ConfidenceInterval.normalQuantile(0.01), 1e-5);
+        assertEquals(2.228139, ConfidenceInterval.studentT(0.975, 10), 2e-3);
+        assertEquals(2.042272, ConfidenceInterval.studentT(0.975, 30), 1e-3);
+    }
+
+    @Test
+    void meanIntervalNarrowsWithMoreSamples() {
+        ConfidenceInterval small = ConfidenceInterval.forMean(alternating(10), 0.95);
+        ConfidenceInterval large = ConfidenceInterval.forMean(alternating(1000), 0.95);
+        assertEquals(1.5, small.estimateMs(), 1e-9);
+        assertTrue(small.lowMs() < 1.5 && small.highMs() > 1.5);
+        assertTrue(large.relativeWidth() < small.relativeWidth());
+    }
+
+    @Test
+    void p99IntervalStaysOpenUntilEnoughTailSamples() {
+        assertEquals(Double.POSITIVE_INFINITY, ConfidenceInterval.of("p99", alternating(50), 0.95).relativeWidth());
+        long[] many = new long[5000];
+        for (int i = 0; i < many.length; i++) many[i] = 1_000_000L + i * 100L;
+        ConfidenceInterval ci = ConfidenceInterval.of("p99", many, 0.95);
+        assertTrue(ci.lowMs() <= ci.estimateMs() && ci.estimateMs() <= ci.highMs());
+        assertTrue(ci.relativeWidth() < 0.05);
+    }
+
+    private static long[] alternating(int n) {
+        long[] out = new long[n];
+        for (int i = 0; i < n; i++) out[i] = i % 2 == 0 ? 1_000_000L : 2_000_000L;
+        return out;
+    }
+}
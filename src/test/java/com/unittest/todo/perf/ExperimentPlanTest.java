@@ -0,0 +1,58 @@
+package com.unittest.todo.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExperimentPlanTest {
+
+    @Test
+    void loadsBundledSmokePlan() throws Exception {
+        ExperimentPlan plan = ExperimentPlan.load("smoke");
+        assertEquals("smoke", plan.name());
+        assertEquals(Arrays.asList("todos", "categories", "projects"), plan.entities());
+        assertArrayEquals(new int[]{1, 2}, plan.concurrency());
+        assertEquals(30, plan.maxDuration().getSeconds());
+    }
+
+    @Test
+    void appliesDefaults() {
+        Properties p = new Properties();
+        p.setProperty("name", "minimal");
+        ExperimentPlan plan = ExperimentPlan.fromProperties(p);
+        assertEquals(Arrays.asList("create", "update", "delete"), plan.operations());
+        assertEquals("minimal-experiment.csv", plan.csvFile());
+        assertEquals(0, plan.maxDuration().getSeconds());
+        assertEquals(0, plan.calibrationIterations());
+    }
+
+    @Test
+    void rejectsUnknownOperation() {
+        Properties p = new Properties();
+        p.setProperty("operations", "create,patch");
+        assertThrows(IllegalArgumentException.class, () -> ExperimentPlan.fromProperties(p));
+    }
+
+    @Test
+    void readsClientTimeouts() {
+        Properties p = new Properties();
+        assertEquals(0, ExperimentPlan.fromProperties(p).readTimeoutMs());
+        p.setProperty("client.connectTimeoutMs", "250");
+        p.setProperty("client.readTimeoutMs", "1500");
+        ExperimentPlan plan = ExperimentPlan.fromProperties(p);
+        assertEquals(250, plan.connectTimeoutMs());
+        assertEquals(1500, plan.readTimeoutMs());
+        p.setProperty("client.readTimeoutMs", "-1");
+        assertThrows(IllegalArgumentException.class, () -> ExperimentPlan.fromProperties(p));
+    }
+
+    @Test
+    void rejectsUnknownPlan() {
+        assertThrows(IllegalArgumentException.class, () -> ExperimentPlan.load("no-such-plan"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.unittest.todo.perf;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class HarnessCalibrationTest {
+
+    // Client bytes per request measured at the time the budget was set, plus ~50% headroom
+    private static final long CREATE_ALLOC_BUDGET = 1_200_000L;
+    private static final long OTHER_ALLOC_BUDGET = 250_000L;
+
+    @Test
+    void measuresEveryOperationAgainstZeroWorkResponder() throws Exception {
+        Properties p = new Properties();
+        p.setProperty("name", "calibration-test");
+        p.setProperty("operations", "create,read,update,delete");
+        p.setProperty("calibration.maxShare", "0.25");
+        HarnessCalibration cal = HarnessCalibration.run(ExperimentPlan.fromProperties(p), "todos", 40);
+
+        for (String op : new String[]{"create", "read", "update", "delete"}) {
+            assertEquals(40, cal.count(op), op);
+            double mean = cal.meanMs(op);
+            assertTrue(mean > 0, op);
+            assertTrue(cal.maxRatePerThread(op) > 0, op);
+            assertTrue(cal.trusted(op, mean * 10), op);
+            assertFalse(cal.trusted(op, mean * 2), op);
+            assertEquals(0.5, cal.share(op, mean * 2), 1e-9);
+        }
+        int rows = 0;
+        for (String row : cal.rows()) {
+            assertEquals(HarnessCalibration.header().split(",").length, row.split(",").length);
+            rows++;
+        }
+        assertEquals(4, rows);
+    }
+
+    // Absolute byte budgets depend on the JDK and the client library versions, so not part of plain mvn test
+    @Test
+    @Tag("performance")
+    void staysWithinAllocationBudget() throws Exception {
+        assumeTrue(AllocationMeter.isSupported(), "JVM cannot report per-thread allocation");
+        Properties p = new Properties();
+        p.setProperty("operations", "create,read,update,delete");
+        HarnessCalibration cal = HarnessCalibration.run(ExperimentPlan.fromProperties(p), "todos", 100);
+
+        for (String op : new String[]{"create", "read", "update", "delete"}) {
+            long budget = "create".equals(op) ? CREATE_ALLOC_BUDGET : OTHER_ALLOC_BUDGET;
+            double perRequest = cal.allocatedBytesPerRequest(op);
+            assertTrue(perRequest > 0, op);
+            assertTrue(perRequest <= budget, op + " allocates " + (long) perRequest + " bytes per request, budget " + budget);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.unittest.todo.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdPoolTest {
+
+    @Test
+    void roundTripsNumericAndFallbackIds() {
+        IdPool pool = new IdPool(2);
+        String[] ids = {"0", "1", "42", "999999999999999999", "007", "abc-1", "1234567890123456789", "-5"};
+        for (String id : ids) pool.add(id);
+        assertEquals(ids.length, pool.size());
+        assertEquals(Set.of(ids), new HashSet<>(pool.toList()));
+
+        Set<String> taken = new HashSet<>();
+        Random rand = new Random(42);
+        for (String id = pool.takeRandom(rand); id != null; id = pool.takeRandom(rand)) {
+            assertTrue(taken.add(id), "taken twice: " + id);
+        }
+        assertEquals(Set.of(ids), taken);
+        assertTrue(pool.isEmpty());
+        assertNull(pool.randomId(rand));
+        assertNull(pool.weightedId(rand));
+        assertNull(pool.takeLast());
+    }
+
+    @Test
+    void sampleDistinctDrawsWithoutRemoving() {
+        IdPool pool = new IdPool(16);
+        for (int i = 1; i <= 100; i++) pool.add(String.valueOf(i));
+        long[] buffer = new long[10];
+        Random rand = new Random(7);
+        for (int round = 0; round < 1_000; round++) {
+            int n = pool.sampleDistinct(rand, buffer, buffer.length);
+            assertEquals(10, n);
+            Set<String> seen = new HashSet<>();
+            for (int j = 0; j < n; j++) assertTrue(seen.add(pool.id(buffer[j])));
+        }
+        assertEquals(100, pool.size());
+        assertEquals(0, new IdPool(4).sampleDistinct(rand, buffer, 3));
+    }
+
+    @Test
+    void weightedSelectionFollowsWeights() {
+        IdPool pool = new IdPool(4);
+        pool.add("1", 1);
+        pool.add("2", 3);
+        pool.add("hot", 6);
+        Random rand = new Random(3);
+        int[] counts = new int[3];
+        int draws = 100_000;
+        for (int i = 0; i < draws; i++) {
+            String id = pool.weightedId(rand);
+            counts["1".equals(id) ? 0 : "2".equals(id) ? 1 : 2]++;
+        }
+        assertEquals(0.1, counts[0] / (double) draws, 0.01);
+        assertEquals(0.3, counts[1] / (double) draws, 0.01);
+        assertEquals(0.6, counts[2] / (double) draws, 0.01);
+
+        assertEquals("hot", pool.takeLast());
+        int heavy = 0;
+        for (int i = 0; i < draws; i++) {
+            if ("2".equals(pool.weightedId(rand))) heavy++;
+        }
+        assertEquals(0.75, heavy / (double) draws, 0.01);
+    }
+
+    @Test
+    void rejectsEmptyIdsAndNonPositiveWeights() {
+        IdPool pool = new IdPool(4);
+        assertThrows(IllegalArgumentException.class, () -> pool.add(""));
+        assertThrows(IllegalArgumentException.class, () -> pool.add("1", 0));
+    }
+}
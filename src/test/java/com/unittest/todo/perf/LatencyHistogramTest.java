@@ -0,0 +1,29 @@
+package com.unittest.todo.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketBoundsContainTheirValues() {
+        for (long us = 0; us < 10_000_000L; us = us * 3 / 2 + 1) {
+            int b = LatencyHistogram.bucketOf(us);
+            assertTrue(LatencyHistogram.bucketUpperUs(b) >= us, "upper bound of bucket for " + us);
+            assertTrue(b == 0 || LatencyHistogram.bucketUpperUs(b - 1) < us, "previous bucket for " + us);
+        }
+    }
+
+    @Test
+    void percentilesAreWithinBucketResolution() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) h.recordNanos(i * 1_000_000L);
+        assertEquals(1000, h.count());
+        assertEquals(500.5, h.meanMs(), 1e-9);
+        assertEquals(500.0, h.percentileMs(0.50), 500.0 * 0.04);
+        assertEquals(990.0, h.percentileMs(0.99), 990.0 * 0.04);
+        assertEquals(1000.0, h.maxMs(), 1e-9);
+    }
+}
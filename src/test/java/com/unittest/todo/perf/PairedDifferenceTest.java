@@ -0,0 +1,53 @@
+package com.unittest.todo.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PairedDifferenceTest {
+
+    @Test
+    void pairingCancelsSharedNoise() {
+        // Both sides share a large per-pair noise term; B is 0.2 ms slower underneath
+        Random rand = new Random(42);
+        int n = 200;
+        long[] a = new long[n];
+        long[] b = new long[n];
+        for (int i = 0; i < n; i++) {
+            long noise = (long) (rand.nextDouble() * 20_000_000L);
+            a[i] = 5_000_000L + noise + rand.nextInt(50_000);
+            b[i] = 5_200_000L + noise + rand.nextInt(50_000);
+        }
+        PairedDifference d = PairedDifference.of(a, b, 0.95);
+        assertEquals(0.2, d.mean().estimateMs(), 0.01);
+        assertTrue(d.mean().lowMs() > 0.15 && d.mean().highMs() < 0.25, d.mean().lowMs() + ".." + d.mean().highMs());
+        assertEquals("b_slower", d.verdict());
+        assertEquals(1.0, d.bSlowerShare(), 1e-9);
+        assertEquals(0.2 / d.aMeanMs(), d.relativeChange(), 1e-3);
+    }
+
+    @Test
+    void reportsNoDifferenceForIdenticalSides() {
+        Random rand = new Random(7);
+        int n = 100;
+        long[] a = new long[n];
+        long[] b = new long[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = 1_000_000L + rand.nextInt(200_000);
+            b[i] = 1_000_000L + rand.nextInt(200_000);
+        }
+        PairedDifference d = PairedDifference.of(a, b, 0.95);
+        assertEquals("no_difference", d.verdict());
+        assertTrue(d.mean().lowMs() < 0 && d.mean().highMs() > 0);
+    }
+
+    @Test
+    void rejectsUnpairedSamples() {
+        assertThrows(IllegalArgumentException.class, () -> PairedDifference.of(new long[2], new long[3], 0.95));
+        assertEquals("insufficient", PairedDifference.of(new long[1], new long[1], 0.95).verdict());
+    }
+}
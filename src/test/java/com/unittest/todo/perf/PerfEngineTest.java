@@ -0,0 +1,81 @@
+package com.unittest.todo.perf;
+
+import com.unittest.todo.fault.FaultProfile;
+import com.unittest.todo.fault.FaultProxy;
+import com.unittest.todo.standin.StandInServer;
+import com.unittest.todo.standin.StandInServerExtension;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(StandInServerExtension.class)
+class PerfEngineTest {
+
+    @Test
+    void countsAResetReadAsOneResetAttempt() throws Exception {
+        Properties p = new Properties();
+        p.setProperty("name", "reset-read");
+        ExperimentPlan plan = ExperimentPlan.fromProperties(p);
+        PerfEngine direct = new PerfEngine(plan, RestAssured.baseURI);
+        String id = direct.createUntimed("todos");
+        assertNotNull(id);
+
+        Properties faults = new Properties();
+        faults.setProperty("name", "always-reset");
+        faults.setProperty("reset.probability", "1.0");
+        try (FaultProxy proxy = FaultProxy.start(RestAssured.baseURI, FaultProfile.fromProperties(faults), 0)) {
+            LatencySamples samples = new LatencySamples();
+            RequestOutcomes outcomes = new RequestOutcomes();
+            assertEquals(-1, new PerfEngine(plan, proxy.baseUrl()).timedRequest("todos", "read", id, samples, outcomes));
+            assertEquals(Map.of("reset", 1L), outcomes.counts());
+            assertEquals(0, samples.count());
+            // A GET is idempotent, so HttpClient's default handler would have resent it
+            assertEquals(1, proxy.requests(), "reset read was retried");
+        } finally {
+            direct.deleteUntimed("todos", id);
+        }
+    }
+
+    @Test
+    void fixedSamplingReadsEveryEntityExactlyOnce() throws Exception {
+        Map<String, Integer> reads = new ConcurrentHashMap<>();
+        AtomicInteger filtered = new AtomicInteger();
+        Filter countFiltered = (req, res, ctx) -> {
+            filtered.incrementAndGet();
+            return ctx.next(req, res);
+        };
+        List<Filter> previous = RestAssured.filters();
+        RestAssured.filters(countFiltered);
+        try (StandInServer server = StandInServer.start(0)) {
+            server.observe((method, path) -> {
+                if ("GET".equals(method) && path.matches("/todos/\\d+")) reads.merge(path, 1, Integer::sum);
+            });
+            Properties p = new Properties();
+            p.setProperty("name", "fixed-once");
+            p.setProperty("baseUrl", server.baseUrl());
+            p.setProperty("entities", "todos");
+            p.setProperty("sizes", "40");
+            p.setProperty("concurrency", "2");
+            p.setProperty("operations", "create,read");
+            p.setProperty("sinks", "stdout");
+            new PerfEngine(ExperimentPlan.fromProperties(p)).run();
+        } finally {
+            RestAssured.replaceFiltersWith(previous);
+        }
+        assertEquals(40, reads.size(), "distinct todos read");
+        assertTrue(reads.values().stream().allMatch(n -> n == 1), "some todos were read more than once: " + reads);
+        // The suites' global route profiler must not sit in the engine's timed path
+        assertEquals(0, filtered.get(), "engine requests went through global filters");
+    }
+}
@@ -0,0 +1,20 @@
+package com.unittest.todo.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PerfMainTest {
+
+    @Test
+    void helpAndBadArgumentsDoNotRunAnything() {
+        assertEquals(0, PerfMain.run(new String[]{"--help"}));
+        assertEquals(2, PerfMain.run(new String[]{"--bogus"}));
+        assertEquals(2, PerfMain.run(new String[]{"--base-url"}));
+        assertEquals(2, PerfMain.run(new String[]{"--set", "noequals"}));
+        assertEquals(2, PerfMain.run(new String[]{"no-such-plan"}));
+        assertEquals(2, PerfMain.run(new String[]{"smoke", "--set", "operations=read"}));
+        assertEquals(2, PerfMain.run(new String[]{"--compare"}));
+        assertEquals(2, PerfMain.run(new String[]{"smoke", "--compare", "http://localhost:1", "--set", "compare.minPairs=1"}));
+    }
+}
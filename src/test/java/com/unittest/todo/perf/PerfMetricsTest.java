@@ -0,0 +1,39 @@
+package com.unittest.todo.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PerfMetricsTest {
+
+    @Test
+    void writesCumulativeHistogramInOpenMetricsFormat() throws Exception {
+        PerfMetrics metrics = new PerfMetrics();
+        metrics.record("todos", "create", "201", 800_000L);
+        metrics.record("todos", "create", "201", 3_000_000L);
+        metrics.record("todos", "create", "500", 20_000_000L);
+        metrics.cellCompleted();
+
+        StringWriter w = new StringWriter();
+        metrics.writeOpenMetrics(w);
+        String text = w.toString();
+
+        assertTrue(text.contains("todo_perf_requests_total{entity=\"todos\",operation=\"create\",status=\"201\"} 2\n"));
+        assertTrue(text.contains("todo_perf_request_duration_seconds_bucket{entity=\"todos\",operation=\"create\",status=\"201\",le=\"0.001\"} 1\n"));
+        assertTrue(text.contains("todo_perf_request_duration_seconds_bucket{entity=\"todos\",operation=\"create\",status=\"201\",le=\"0.005\"} 2\n"));
+        assertTrue(text.contains("todo_perf_request_duration_seconds_bucket{entity=\"todos\",operation=\"create\",status=\"500\",le=\"+Inf\"} 1\n"));
+        assertTrue(text.contains("todo_perf_cells_total 1\n"));
+        assertTrue(text.endsWith("# EOF\n"));
+    }
+
+    @Test
+    void scrapeEndpointBindsToLoopbackByDefault() throws Exception {
+        ExperimentPlan plan = ExperimentPlan.fromProperties(new Properties());
+        try (MetricsEndpoint endpoint = MetricsEndpoint.start(new PerfMetrics(), plan.metricsHost(), 0)) {
+            assertTrue(endpoint.address().getAddress().isLoopbackAddress(), String.valueOf(endpoint.address()));
+        }
+    }
+}
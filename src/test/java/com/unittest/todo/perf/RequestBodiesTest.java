@@ -0,0 +1,28 @@
+package com.unittest.todo.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestBodiesTest {
+
+    @Test
+    void titleSuffixStaysAlphanumericForLongMinValue() {
+        Random minValue = new Random() {
+            @Override
+            public long nextLong() {
+                return Long.MIN_VALUE;
+            }
+        };
+        String title = RequestBodies.randomTitle("todos-create", minValue);
+        assertTrue(title.matches("todos-create-[0-9a-z]+"), title);
+    }
+
+    @Test
+    void wrapsTitleInJson() {
+        assertEquals("{\"title\":\"t-1\"}", RequestBodies.titleJson("t-1"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.unittest.todo.perf;
+
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestOutcomesTest {
+
+    @Test
+    void keepsFailuresOutOfTheSuccessCount() {
+        RequestOutcomes o = new RequestOutcomes();
+        o.success(201);
+        o.success(201);
+        o.failure("503", 1_000_000L);
+        o.failure("read_timeout", 3_000_000L);
+        assertEquals(2, o.successes());
+        assertEquals(2, o.failures());
+        assertEquals(4, o.attempts());
+        assertEquals(2.0, o.failureLatencies().meanMs(), 1e-9);
+        assertEquals(Map.of("201", 2L, "503", 1L, "read_timeout", 1L), o.counts());
+    }
+
+    @Test
+    void classifiesTransportFailures() {
+        assertEquals("read_timeout", RequestOutcomes.classify(new SocketTimeoutException("Read timed out")));
+        assertEquals("connect_timeout", RequestOutcomes.classify(new SocketTimeoutException("connect timed out")));
+        assertEquals("connect_timeout", RequestOutcomes.classify(new ConnectTimeoutException("Connect to localhost:1 timed out")));
+        assertEquals("connect_refused", RequestOutcomes.classify(new ConnectException("Connection refused")));
+        assertEquals("reset", RequestOutcomes.classify(new SocketException("Connection reset")));
+        assertEquals("reset", RequestOutcomes.classify(new NoHttpResponseException("localhost:4567 failed to respond")));
+        assertEquals("read_timeout", RequestOutcomes.classify(new IllegalStateException(new SocketTimeoutException("Read timed out"))));
+        assertEquals("io_error", RequestOutcomes.classify(new IOException("something else")));
+    }
+}
@@ -0,0 +1,35 @@
+package com.unittest.todo.perf;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseParsingTest {
+
+    @Test
+    void prefersLocationHeaderAndFallsBackToBody() {
+        assertEquals("17", ResponseParsing.extractId(json(201, "{\"id\":\"99\"}", "/todos/17")));
+        assertEquals("99", ResponseParsing.extractId(json(201, "{\"id\":\"99\"}", null)));
+        assertEquals("99", ResponseParsing.extractId(json(201, "{\"id\":\"99\"}", "/todos/")));
+        assertNull(ResponseParsing.extractId(json(400, "{\"errorMessages\":[\"bad\"]}", null)));
+        assertNull(ResponseParsing.idFromLocation(""));
+        assertEquals("5", ResponseParsing.idFromLocation("http://localhost:4567/projects/5"));
+    }
+
+    @Test
+    void countsNamedOrTopLevelArrays() {
+        assertEquals(2, ResponseParsing.count(json(200, "{\"todos\":[{\"id\":\"1\"},{\"id\":\"2\"}]}", null), "/todos"));
+        assertEquals(1, ResponseParsing.count(json(200, "{\"projects\":[{\"id\":\"1\"}]}", null), "/projects/1/tasks"));
+        assertEquals(3, ResponseParsing.count(json(200, "[1,2,3]", null), "/todos"));
+        assertEquals(-1, ResponseParsing.count(json(200, "not json", null), "/todos"));
+    }
+
+    private static Response json(int status, String body, String location) {
+        ResponseBuilder b = new ResponseBuilder().setStatusCode(status).setContentType("application/json").setBody(body);
+        if (location != null) b.setHeader("Location", location);
+        return b.build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.unittest.todo.perf;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+
+/**
+ * RestAssured filter that times every request and records it in {@link RouteStatsRegistry#global()}
+ * under its method, host and route template. The summary is printed and written to
+ * {@code target/perf/route-latency.csv} by {@link RouteStatsListener} once the test plan finishes.
+ */
+public final class RouteStatsFilter implements Filter {
+
+    private static RouteStatsFilter installed;
+
+    private final RouteStatsRegistry registry;
+
+    public RouteStatsFilter(RouteStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Returns the single process-wide filter, creating it on first call. */
+    public static synchronized RouteStatsFilter install() {
+        if (installed == null) {
+            installed = new RouteStatsFilter(RouteStatsRegistry.global());
+        }
+        return installed;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        URI uri = parse(requestSpec.getURI());
+        String host = uri == null ? "?" : String.valueOf(uri.getRawAuthority());
+        String route = RouteStatsRegistry.routeTemplate(uri == null ? requestSpec.getURI() : uri.getRawPath());
+        long t0 = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            registry.record(method, host, route, response.getStatusCode(), System.nanoTime() - t0);
+            return response;
+        } catch (Throwable e) {
+            // Groovy rethrows checked I/O exceptions (connect refused, read timeout) undeclared
+            registry.record(method, host, route, -1, System.nanoTime() - t0);
+            throw e;
+        }
+    }
+
+    private static URI parse(String uri) {
+        try {
+            return URI.create(uri);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.unittest.todo.perf;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Prints the per-route latency summary and writes {@code target/perf/route-latency.csv} when a test plan
+ * finishes. Registered through {@code META-INF/services}, so it runs inside the launcher where Surefire
+ * still forwards stdout to the console, unlike a JVM shutdown hook.
+ */
+public final class RouteStatsListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        try {
+            RouteStatsRegistry.global().writeSummary(new File("target/perf/route-latency.csv"));
+        } catch (IOException e) {
+            System.err.println("Could not write route latency summary: " + e);
+        }
+    }
+}
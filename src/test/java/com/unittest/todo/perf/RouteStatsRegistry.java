@@ -0,0 +1,122 @@
+package com.unittest.todo.perf;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.unittest.todo.perf.CsvFormat.round4;
+
+/**
+ * Process-wide per method+host+route latency aggregates fed by {@link RouteStatsFilter}. Recording is
+ * lock-free: a concurrent map of routes to {@link LatencyHistogram}s and striped counters. The host keeps
+ * traffic to other servers (a calibration responder, a fault proxy) out of the service's own routes.
+ */
+public final class RouteStatsRegistry {
+
+    private static final RouteStatsRegistry GLOBAL = new RouteStatsRegistry();
+
+    private final ConcurrentHashMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    public static RouteStatsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * {@code host} is the request's {@code host:port}; {@code status} is -1 when the request failed with
+     * an exception before a response arrived.
+     */
+    public void record(String method, String host, String route, int status, long latencyNs) {
+        String key = method + " " + host + " " + route;
+        RouteStats stats = routes.get(key);
+        if (stats == null) stats = routes.computeIfAbsent(key, k -> new RouteStats());
+        stats.histogram.recordNanos(latencyNs);
+        if (status < 0 || status >= 500) {
+            stats.errors.increment();
+        } else if (status >= 400) {
+            stats.clientErrors.increment();
+        }
+    }
+
+    /**
+     * Replaces numeric and UUID-like path segments with {@code {id}} and drops the query string, so
+     * {@code /todos/12/categories/3?x=1} becomes {@code /todos/{id}/categories/{id}}.
+     */
+    public static String routeTemplate(String path) {
+        if (path == null || path.isEmpty()) return "/";
+        int q = path.indexOf('?');
+        if (q >= 0) path = path.substring(0, q);
+        StringBuilder sb = new StringBuilder(path.length());
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) continue;
+            sb.append('/').append(looksLikeId(segment) ? "{id}" : segment);
+        }
+        return sb.length() == 0 ? "/" : sb.toString();
+    }
+
+    private static boolean looksLikeId(String segment) {
+        boolean digits = true;
+        for (int i = 0; i < segment.length() && digits; i++) {
+            digits = Character.isDigit(segment.charAt(i));
+        }
+        return digits || segment.matches("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    }
+
+    public Map<String, RouteStats> snapshot() {
+        return new TreeMap<>(routes);
+    }
+
+    public void reset() {
+        routes.clear();
+    }
+
+    /** Prints the summary table to stdout and writes the same data as CSV to {@code out}. */
+    public void writeSummary(File out) throws IOException {
+        Map<String, RouteStats> sorted = snapshot();
+        if (sorted.isEmpty()) return;
+
+        String header = "method,host,route,count,client_errors,errors,mean_ms,p50_ms,p90_ms,p99_ms,max_ms";
+        List<String> rows = new ArrayList<>();
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-8s %-21s %-45s %8s %6s %6s %9s %9s %9s %9s %9s%n",
+                "METHOD", "HOST", "ROUTE", "COUNT", "4XX", "ERR", "MEAN", "P50", "P90", "P99", "MAX"));
+        for (Map.Entry<String, RouteStats> e : sorted.entrySet()) {
+            String[] mr = e.getKey().split(" ", 3);
+            RouteStats s = e.getValue();
+            LatencyHistogram h = s.histogram;
+            rows.add(mr[0] + "," + mr[1] + "," + mr[2] + "," + h.count() + "," + s.clientErrors.sum() + "," + s.errors.sum() + "," +
+                    round4(h.meanMs()) + "," + round4(h.percentileMs(0.50)) + "," +
+                    round4(h.percentileMs(0.90)) + "," + round4(h.percentileMs(0.99)) + "," +
+                    round4(h.maxMs()));
+            table.append(String.format(Locale.ROOT, "%-8s %-21s %-45s %8d %6d %6d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    mr[0], mr[1], mr[2], h.count(), s.clientErrors.sum(), s.errors.sum(),
+                    h.meanMs(), h.percentileMs(0.50), h.percentileMs(0.90), h.percentileMs(0.99), h.maxMs()));
+        }
+        System.out.print(table);
+
+        File dir = out.getAbsoluteFile().getParentFile();
+        if (!dir.exists()) dir.mkdirs();
+        try (PrintWriter pw = new PrintWriter(new OutputStreamWriter(new FileOutputStream(out, false), StandardCharsets.UTF_8))) {
+            pw.println(header);
+            for (String row : rows) pw.println(row);
+        }
+    }
+
+    public static final class RouteStats {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        public LatencyHistogram histogram() { return histogram; }
+        public long clientErrors() { return clientErrors.sum(); }
+        public long errors() { return errors.sum(); }
+    }
+}
@@ -0,0 +1,39 @@
+package com.unittest.todo.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RouteStatsRegistryTest {
+
+    @Test
+    void normalizesIdsAndQueryToRouteTemplate() {
+        assertEquals("/todos/{id}/categories/{id}", RouteStatsRegistry.routeTemplate("/todos/12/categories/3?x=1"));
+        assertEquals("/todos", RouteStatsRegistry.routeTemplate("/todos?doneStatus=false"));
+        assertEquals("/projects/{id}", RouteStatsRegistry.routeTemplate("/projects/0b7c1c9e-4a4e-4a8e-9d3b-2b8d1f1f6a10"));
+        assertEquals("/todos/not_a_real_endpoint", RouteStatsRegistry.routeTemplate("/todos/not_a_real_endpoint"));
+        assertEquals("/", RouteStatsRegistry.routeTemplate(""));
+    }
+
+    @Test
+    void aggregatesCountsAndErrorClassesPerRoute() {
+        RouteStatsRegistry registry = new RouteStatsRegistry();
+        registry.record("GET", "localhost:4567", "/todos/{id}", 200, 2_000_000L);
+        registry.record("GET", "localhost:4567", "/todos/{id}", 404, 1_000_000L);
+        registry.record("GET", "localhost:4567", "/todos/{id}", -1, 5_000_000L);
+        RouteStatsRegistry.RouteStats stats = registry.snapshot().get("GET localhost:4567 /todos/{id}");
+        assertEquals(3, stats.histogram().count());
+        assertEquals(1, stats.clientErrors());
+        assertEquals(1, stats.errors());
+        assertEquals(5.0, stats.histogram().maxMs(), 1e-9);
+    }
+
+    @Test
+    void keepsTheSameRouteOnOtherHostsApart() {
+        RouteStatsRegistry registry = new RouteStatsRegistry();
+        registry.record("POST", "localhost:4567", "/todos", 201, 2_000_000L);
+        registry.record("POST", "127.0.0.1:40123", "/todos", 201, 10_000L);
+        assertEquals(2, registry.snapshot().size());
+        assertEquals(1, registry.snapshot().get("POST localhost:4567 /todos").histogram().count());
+    }
+}
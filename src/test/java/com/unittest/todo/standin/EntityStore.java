@@ -0,0 +1,338 @@
+package com.unittest.todo.standin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent in-memory store behind {@link StandInServer}. Each collection is split into lock
+ * stripes by ID; a stripe is a read/write lock over an {@link IntObjectMap}, so requests on different
+ * entities rarely contend. Relationship links are int arrays on both ends. Cross-entity updates
+ * (link, unlink, delete) take one stripe at a time and are therefore not atomic as a whole.
+ */
+final class EntityStore {
+
+    private static final int STRIPES = 16;
+
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+
+    EntityStore() {
+        for (EntityType t : EntityType.ALL) tables.put(t.plural, new Table());
+    }
+
+    Snapshot create(EntityType type, Map<String, Object> input) {
+        if (input.containsKey("id")) {
+            throw new StandInException(400, "Invalid Creation: Failed Validation: Not allowed to create with id");
+        }
+        Map<String, String> fields = new LinkedHashMap<>(type.defaults);
+        apply(type, fields, input, true);
+        Table table = tables.get(type.plural);
+        int id = table.nextId.getAndIncrement();
+        Record record = new Record(id, fields);
+        Stripe stripe = table.stripe(id);
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.map.put(id, record);
+            return record.snapshot(type);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    Snapshot get(EntityType type, int id) {
+        Stripe stripe = tables.get(type.plural).stripe(id);
+        stripe.lock.readLock().lock();
+        try {
+            Record r = stripe.map.get(id);
+            return r == null ? null : r.snapshot(type);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /** {@code filter} matches field values exactly; {@code id} is filterable too. */
+    List<Snapshot> list(EntityType type, Map<String, String> filter) {
+        List<Snapshot> out = new ArrayList<>();
+        for (Stripe stripe : tables.get(type.plural).stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                stripe.map.forEachValue(r -> {
+                    if (r.matches(filter)) out.add(r.snapshot(type));
+                });
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        out.sort(Comparator.comparingInt(s -> s.id));
+        return out;
+    }
+
+    /** PUT: unspecified fields fall back to their defaults, so mandatory fields must be present. */
+    Snapshot replace(EntityType type, int id, Map<String, Object> input) {
+        Map<String, String> fields = new LinkedHashMap<>(type.defaults);
+        apply(type, fields, input, true);
+        return update(type, id, r -> {
+            r.fields.clear();
+            r.fields.putAll(fields);
+        });
+    }
+
+    /** POST on an instance: only the given fields change. */
+    Snapshot amend(EntityType type, int id, Map<String, Object> input) {
+        Map<String, String> changes = new LinkedHashMap<>();
+        apply(type, changes, input, false);
+        return update(type, id, r -> r.fields.putAll(changes));
+    }
+
+    boolean delete(EntityType type, int id) {
+        Stripe stripe = tables.get(type.plural).stripe(id);
+        Record removed;
+        stripe.lock.writeLock().lock();
+        try {
+            removed = stripe.map.remove(id);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        if (removed == null) return false;
+        for (Map.Entry<String, String[]> rel : type.relations.entrySet()) {
+            EntityType target = EntityType.byPlural(rel.getValue()[0]);
+            for (int other : removed.links(rel.getKey())) {
+                withRecord(target, other, r -> r.unlink(rel.getValue()[1], id));
+            }
+        }
+        return true;
+    }
+
+    /** Entities linked from {@code id} through {@code relation}, or null when {@code id} does not exist. */
+    List<Snapshot> related(EntityType type, int id, String relation) {
+        Snapshot source = get(type, id);
+        if (source == null) return null;
+        EntityType target = EntityType.byPlural(type.relations.get(relation)[0]);
+        List<Snapshot> out = new ArrayList<>();
+        for (int other : source.relations.get(relation)) {
+            Snapshot s = get(target, other);
+            if (s != null) out.add(s);
+        }
+        return out;
+    }
+
+    /** Union of {@code relation} over every entity of {@code type}, e.g. {@code /todos/categories}. */
+    List<Snapshot> allRelated(EntityType type, String relation) {
+        EntityType target = EntityType.byPlural(type.relations.get(relation)[0]);
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (Snapshot s : list(type, Collections.emptyMap())) {
+            for (int other : s.relations.get(relation)) ids.add(other);
+        }
+        List<Snapshot> out = new ArrayList<>();
+        for (int other : ids) {
+            Snapshot s = get(target, other);
+            if (s != null) out.add(s);
+        }
+        out.sort(Comparator.comparingInt(s -> s.id));
+        return out;
+    }
+
+    /**
+     * Links {@code id} to the entity named by {@code input.id}, or creates a new target from the other
+     * fields and links it. Returns the target.
+     */
+    Snapshot link(EntityType type, int id, String relation, Map<String, Object> input) {
+        if (get(type, id) == null) {
+            throw new StandInException(404, "Could not find parent thing for relationship " + type.plural + "/" + id + "/" + relation);
+        }
+        String[] rel = type.relations.get(relation);
+        EntityType target = EntityType.byPlural(rel[0]);
+        Snapshot targetSnapshot;
+        if (input.containsKey("id")) {
+            int targetId = parseId(String.valueOf(input.get("id")));
+            targetSnapshot = targetId < 0 ? null : get(target, targetId);
+            if (targetSnapshot == null) {
+                throw new StandInException(404, "Could not find thing matching value for id");
+            }
+        } else {
+            targetSnapshot = create(target, input);
+        }
+        int targetId = targetSnapshot.id;
+        if (!withRecord(type, id, r -> r.link(relation, targetId))) {
+            throw new StandInException(404, "Could not find parent thing for relationship " + type.plural + "/" + id + "/" + relation);
+        }
+        withRecord(target, targetId, r -> r.link(rel[1], id));
+        return get(target, targetId);
+    }
+
+    boolean unlink(EntityType type, int id, String relation, int targetId) {
+        boolean[] removed = new boolean[1];
+        withRecord(type, id, r -> removed[0] = r.unlink(relation, targetId));
+        if (!removed[0]) return false;
+        String[] rel = type.relations.get(relation);
+        withRecord(EntityType.byPlural(rel[0]), targetId, r -> r.unlink(rel[1], id));
+        return true;
+    }
+
+    boolean isLinked(EntityType type, int id, String relation, int targetId) {
+        Snapshot s = get(type, id);
+        if (s == null) return false;
+        for (int other : s.relations.get(relation)) {
+            if (other == targetId) return true;
+        }
+        return false;
+    }
+
+    static int parseId(String segment) {
+        if (segment.isEmpty() || segment.length() > 9) return -1;
+        int v = 0;
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v == 0 ? -1 : v;
+    }
+
+    private Snapshot update(EntityType type, int id, Consumer<Record> change) {
+        Stripe stripe = tables.get(type.plural).stripe(id);
+        stripe.lock.writeLock().lock();
+        try {
+            Record r = stripe.map.get(id);
+            if (r == null) throw new StandInException(404, "Could not find an instance with " + type.plural + "/" + id);
+            change.accept(r);
+            return r.snapshot(type);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    private boolean withRecord(EntityType type, int id, Consumer<Record> action) {
+        Stripe stripe = tables.get(type.plural).stripe(id);
+        stripe.lock.writeLock().lock();
+        try {
+            Record r = stripe.map.get(id);
+            if (r == null) return false;
+            action.accept(r);
+            return true;
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(EntityType type, Map<String, String> target, Map<String, Object> input, boolean enforceMandatory) {
+        for (Map.Entry<String, Object> e : input.entrySet()) {
+            String key = e.getKey();
+            Object value = e.getValue();
+            if ("id".equals(key)) continue;
+            if (!type.defaults.containsKey(key)) {
+                throw new StandInException(400, "Could not find field: " + key);
+            }
+            if (type.booleans.contains(key)) {
+                if (!(value instanceof Boolean)) {
+                    throw new StandInException(400, "Failed Validation: " + key + " should be BOOLEAN");
+                }
+            } else if (value instanceof Map || value instanceof List) {
+                throw new StandInException(400, "Failed Validation: " + key + " should be STRING");
+            }
+            target.put(key, value == null ? "" : String.valueOf(value));
+        }
+        if (enforceMandatory) {
+            for (String m : type.mandatory) {
+                if (!input.containsKey(m)) throw new StandInException(400, "Failed Validation: " + m + " : field is mandatory");
+                if (target.get(m).isEmpty()) throw new StandInException(400, "Failed Validation: " + m + " : can not be empty");
+            }
+        }
+    }
+
+    /** Immutable copy of an entity taken under its stripe lock. */
+    static final class Snapshot {
+        final EntityType type;
+        final int id;
+        final Map<String, String> fields;
+        final Map<String, int[]> relations;
+
+        private Snapshot(EntityType type, int id, Map<String, String> fields, Map<String, int[]> relations) {
+            this.type = type;
+            this.id = id;
+            this.fields = fields;
+            this.relations = relations;
+        }
+    }
+
+    private static final class Record {
+        private final int id;
+        private final Map<String, String> fields;
+        private final Map<String, int[]> links = new LinkedHashMap<>();
+
+        private Record(int id, Map<String, String> fields) {
+            this.id = id;
+            this.fields = fields;
+        }
+
+        private int[] links(String relation) {
+            int[] l = links.get(relation);
+            return l == null ? new int[0] : l;
+        }
+
+        private void link(String relation, int other) {
+            int[] l = links(relation);
+            for (int v : l) {
+                if (v == other) return;
+            }
+            int[] grown = Arrays.copyOf(l, l.length + 1);
+            grown[l.length] = other;
+            links.put(relation, grown);
+        }
+
+        private boolean unlink(String relation, int other) {
+            int[] l = links(relation);
+            for (int i = 0; i < l.length; i++) {
+                if (l[i] == other) {
+                    int[] shrunk = new int[l.length - 1];
+                    System.arraycopy(l, 0, shrunk, 0, i);
+                    System.arraycopy(l, i + 1, shrunk, i, l.length - i - 1);
+                    links.put(relation, shrunk);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matches(Map<String, String> filter) {
+            for (Map.Entry<String, String> f : filter.entrySet()) {
+                String actual = "id".equals(f.getKey()) ? String.valueOf(id) : fields.get(f.getKey());
+                if (actual == null || !actual.equals(f.getValue())) return false;
+            }
+            return true;
+        }
+
+        private Snapshot snapshot(EntityType type) {
+            Map<String, int[]> rels = new LinkedHashMap<>();
+            for (String rel : type.relations.keySet()) rels.put(rel, links(rel).clone());
+            return new Snapshot(type, id, new LinkedHashMap<>(fields), rels);
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final IntObjectMap<Record> map = new IntObjectMap<>(64);
+    }
+
+    private static final class Table {
+        private final AtomicInteger nextId = new AtomicInteger(1);
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        private Table() {
+            for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+        }
+
+        private Stripe stripe(int id) {
+            return stripes[id & (STRIPES - 1)];
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.unittest.todo.standin;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schema of one stand-in collection: its fields with defaults, which are mandatory or boolean, and
+ * its relationships to other collections, mirroring the Todo Manager API the suites target.
+ */
+final class EntityType {
+
+    static final EntityType TODOS = new EntityType("todos", "todo",
+            fields("title", "", "doneStatus", "false", "description", ""),
+            Collections.singletonList("title"), Collections.singletonList("doneStatus"),
+            relations("categories", "categories", "todos", "tasksof", "projects", "tasks"));
+
+    static final EntityType PROJECTS = new EntityType("projects", "project",
+            fields("title", "", "completed", "false", "active", "false", "description", ""),
+            Collections.emptyList(), Arrays.asList("completed", "active"),
+            relations("tasks", "todos", "tasksof", "categories", "categories", "projects"));
+
+    static final EntityType CATEGORIES = new EntityType("categories", "category",
+            fields("title", "", "description", ""),
+            Collections.singletonList("title"), Collections.emptyList(),
+            relations("todos", "todos", "categories", "projects", "projects", "categories"));
+
+    static final List<EntityType> ALL = Arrays.asList(TODOS, PROJECTS, CATEGORIES);
+
+    final String plural;
+    final String singular;
+    /** Field name to default value, in output order. */
+    final Map<String, String> defaults;
+    final List<String> mandatory;
+    final List<String> booleans;
+    /** Relationship name to {target collection, reverse relationship name}. */
+    final Map<String, String[]> relations;
+
+    private EntityType(String plural, String singular, Map<String, String> defaults, List<String> mandatory,
+                       List<String> booleans, Map<String, String[]> relations) {
+        this.plural = plural;
+        this.singular = singular;
+        this.defaults = defaults;
+        this.mandatory = mandatory;
+        this.booleans = booleans;
+        this.relations = relations;
+    }
+
+    static EntityType byPlural(String plural) {
+        for (EntityType t : ALL) {
+            if (t.plural.equals(plural)) return t;
+        }
+        return null;
+    }
+
+    private static Map<String, String> fields(String... kv) {
+        Map<String, String> m = new LinkedHashMap<>();
+        for (int i = 0; i < kv.length; i += 2) m.put(kv[i], kv[i + 1]);
+        return Collections.unmodifiableMap(m);
+    }
+
+    private static Map<String, String[]> relations(String... triples) {
+        Map<String, String[]> m = new LinkedHashMap<>();
+        for (int i = 0; i < triples.length; i += 3) m.put(triples[i], new String[]{triples[i + 1], triples[i + 2]});
+        return Collections.unmodifiableMap(m);
+    }
+}
@@ -0,0 +1,119 @@
+package com.unittest.todo.standin;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Open-addressing hash map from positive {@code int} keys to objects: no boxing of keys and no
+ * entry objects. Linear probing with backward-shift deletion, so removals leave no tombstones.
+ * Not thread-safe; {@link EntityStore} guards each instance with its stripe lock.
+ */
+final class IntObjectMap<V> {
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    IntObjectMap(int expected) {
+        int cap = Integer.highestOneBit(Math.max(4, expected * 2) - 1) << 1;
+        keys = new int[cap];
+        values = new Object[cap];
+        mask = cap - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) return (V) values[i];
+            if (k == 0) return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    V put(int key, V value) {
+        if (key <= 0) throw new IllegalArgumentException("Keys must be positive: " + key);
+        if ((size + 1) * 2 > keys.length) grow();
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == key) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+            if (k == 0) {
+                keys[i] = key;
+                values[i] = value;
+                size++;
+                return null;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(int key) {
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            int k = keys[i];
+            if (k == 0) return null;
+            if (k == key) {
+                V old = (V) values[i];
+                shiftBack(i);
+                size--;
+                return old;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEachValue(Consumer<V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) action.accept((V) values[i]);
+        }
+    }
+
+    private void shiftBack(int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            int k = keys[i];
+            if (k == 0) break;
+            int home = slot(k);
+            // Move k into the hole unless its home lies cyclically in (hole, i]
+            boolean stays = hole <= i ? (hole < home && home <= i) : (hole < home || home <= i);
+            if (!stays) {
+                keys[hole] = k;
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = null;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        mask = keys.length - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                @SuppressWarnings("unchecked")
+                V v = (V) oldValues[i];
+                put(oldKeys[i], v);
+            }
+        }
+        Arrays.fill(oldValues, null);
+    }
+
+    private int slot(int key) {
+        // Fibonacci hashing spreads sequential IDs across the table
+        return (key * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(keys.length)) & mask;
+    }
+}
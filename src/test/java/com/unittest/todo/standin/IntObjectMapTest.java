@@ -0,0 +1,35 @@
+package com.unittest.todo.standin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IntObjectMapTest {
+
+    @Test
+    void behavesLikeHashMapUnderRandomPutRemove() {
+        IntObjectMap<String> map = new IntObjectMap<>(4);
+        Map<Integer, String> reference = new HashMap<>();
+        Random rand = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int key = 1 + rand.nextInt(5_000);
+            if (rand.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(reference.put(key, value), map.put(key, value));
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        for (int key = 1; key <= 5_000; key++) {
+            assertEquals(reference.get(key), map.get(key));
+        }
+        int[] seen = new int[1];
+        map.forEachValue(v -> seen[0]++);
+        assertEquals(reference.size(), seen[0]);
+    }
+}
@@ -0,0 +1,173 @@
+package com.unittest.todo.standin;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small strict JSON reader for request bodies, so the stand-in does not pay for a general-purpose
+ * parser on every request. Produces {@link LinkedHashMap}, {@link ArrayList}, {@link String},
+ * {@link Boolean}, {@link Double}/{@link Long} and {@code null}.
+ */
+final class MiniJson {
+
+    private final String s;
+    private int pos;
+
+    private MiniJson(String s) {
+        this.s = s;
+    }
+
+    /** Parses a top-level object; throws {@link IllegalArgumentException} on anything malformed. */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> parseObject(String text) {
+        MiniJson p = new MiniJson(text);
+        p.skipWs();
+        if (p.pos >= p.s.length() || p.s.charAt(p.pos) != '{') throw p.error("expected object");
+        Object v = p.value();
+        p.skipWs();
+        if (p.pos != p.s.length()) throw p.error("trailing characters");
+        return (Map<String, Object>) v;
+    }
+
+    private Object value() {
+        skipWs();
+        if (pos >= s.length()) throw error("unexpected end");
+        char c = s.charAt(pos);
+        switch (c) {
+            case '{': return object();
+            case '[': return array();
+            case '"': return string();
+            case 't': return literal("true", Boolean.TRUE);
+            case 'f': return literal("false", Boolean.FALSE);
+            case 'n': return literal("null", null);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) return number();
+                throw error("unexpected character '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> object() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        pos++;
+        skipWs();
+        if (peek('}')) {
+            pos++;
+            return m;
+        }
+        while (true) {
+            skipWs();
+            if (!peek('"')) throw error("expected key");
+            String key = string();
+            skipWs();
+            expect(':');
+            m.put(key, value());
+            skipWs();
+            if (peek(',')) {
+                pos++;
+            } else {
+                expect('}');
+                return m;
+            }
+        }
+    }
+
+    private List<Object> array() {
+        List<Object> l = new ArrayList<>();
+        pos++;
+        skipWs();
+        if (peek(']')) {
+            pos++;
+            return l;
+        }
+        while (true) {
+            l.add(value());
+            skipWs();
+            if (peek(',')) {
+                pos++;
+            } else {
+                expect(']');
+                return l;
+            }
+        }
+    }
+
+    private String string() {
+        pos++;
+        StringBuilder sb = null;
+        int start = pos;
+        while (pos < s.length()) {
+            char c = s.charAt(pos);
+            if (c == '"') {
+                String out = sb == null ? s.substring(start, pos) : sb.append(s, start, pos).toString();
+                pos++;
+                return out;
+            }
+            if (c == '\\') {
+                if (sb == null) sb = new StringBuilder();
+                sb.append(s, start, pos);
+                if (pos + 1 >= s.length()) throw error("bad escape");
+                char e = s.charAt(pos + 1);
+                switch (e) {
+                    case '"': sb.append('"'); break;
+                    case '\\': sb.append('\\'); break;
+                    case '/': sb.append('/'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (pos + 6 > s.length()) throw error("bad unicode escape");
+                        sb.append((char) Integer.parseInt(s.substring(pos + 2, pos + 6), 16));
+                        pos += 4;
+                        break;
+                    default: throw error("bad escape");
+                }
+                pos += 2;
+                start = pos;
+                continue;
+            }
+            if (c < 0x20) throw error("control character in string");
+            pos++;
+        }
+        throw error("unterminated string");
+    }
+
+    private Object number() {
+        int start = pos;
+        if (peek('-')) pos++;
+        while (pos < s.length() && "0123456789.eE+-".indexOf(s.charAt(pos)) >= 0) pos++;
+        String n = s.substring(start, pos);
+        try {
+            if (n.indexOf('.') < 0 && n.indexOf('e') < 0 && n.indexOf('E') < 0) return Long.parseLong(n);
+            return Double.parseDouble(n);
+        } catch (NumberFormatException e) {
+            throw error("bad number " + n);
+        }
+    }
+
+    private Object literal(String word, Object value) {
+        if (!s.startsWith(word, pos)) throw error("unexpected literal");
+        pos += word.length();
+        return value;
+    }
+
+    private void expect(char c) {
+        if (!peek(c)) throw error("expected '" + c + "'");
+        pos++;
+    }
+
+    private boolean peek(char c) {
+        return pos < s.length() && s.charAt(pos) == c;
+    }
+
+    private void skipWs() {
+        while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+    }
+
+    private IllegalArgumentException error(String what) {
+        return new IllegalArgumentException("Malformed JSON at " + pos + ": " + what);
+    }
+}
@@ -0,0 +1,16 @@
+package com.unittest.todo.standin;
+
+/**
+ * Request the stand-in rejects; carries the HTTP status and the message for {@code errorMessages}.
+ */
+final class StandInException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    final int status;
+
+    StandInException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
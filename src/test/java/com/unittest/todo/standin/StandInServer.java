@@ -0,0 +1,432 @@
+package com.unittest.todo.standin;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process stand-in for the Todo Manager service: {@code /todos}, {@code /projects},
+ * {@code /categories}, their instances, relationship routes ({@code /todos/{id}/categories},
+ * {@code /todos/{id}/tasksof}, {@code /projects/{id}/tasks}, ...) and query filters, in JSON or XML,
+ * with optional gzip. Status codes follow what {@code ApiActualBehaviorTest} observes on the real
+ * service. Backed by the lock-striped {@link EntityStore}; starts in a few milliseconds on a free port.
+ */
+public final class StandInServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final EntityStore store = new EntityStore();
+    private volatile BiConsumer<String, String> observer;
+
+    private StandInServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /** Starts on {@code port}; 0 picks a free port. */
+    public static StandInServer start(int port) throws IOException {
+        HttpServer http = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()), r -> {
+            Thread t = new Thread(r, "stand-in-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        http.setExecutor(executor);
+        StandInServer standIn = new StandInServer(http, executor);
+        http.createContext("/", standIn::handle);
+        http.start();
+        return standIn;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + port();
+    }
+
+    /**
+     * Called with the method and raw path of every request before it is served, on the server's threads;
+     * lets tests count traffic that bypasses RestAssured's filters.
+     */
+    public void observe(BiConsumer<String, String> observer) {
+        this.observer = observer;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        BiConsumer<String, String> o = observer;
+        if (o != null) o.accept(ex.getRequestMethod().toUpperCase(), ex.getRequestURI().getRawPath());
+        try {
+            route(ex);
+        } catch (StandInException e) {
+            sendError(ex, e.status, e.getMessage());
+        } catch (RuntimeException e) {
+            sendError(ex, 500, String.valueOf(e));
+        } finally {
+            ex.close();
+        }
+    }
+
+    private void route(HttpExchange ex) throws IOException {
+        String method = ex.getRequestMethod().toUpperCase();
+        List<String> segments = new ArrayList<>();
+        for (String s : ex.getRequestURI().getRawPath().split("/")) {
+            if (!s.isEmpty()) segments.add(s);
+        }
+
+        if ("OPTIONS".equals(method)) {
+            ex.getResponseHeaders().set("Allow", "OPTIONS, GET, HEAD, POST, PUT, DELETE");
+            send(ex, 200, null);
+            return;
+        }
+        if (segments.isEmpty()) {
+            requireMethod(method, "GET", "HEAD");
+            ex.getResponseHeaders().set("Content-Type", "text/html");
+            send(ex, 200, "<html><body>todo manager stand-in</body></html>");
+            return;
+        }
+
+        EntityType type = EntityType.byPlural(segments.get(0));
+        if (type == null) throw new StandInException(404, "Could not find endpoint /" + segments.get(0));
+        boolean xml = wantsXml(ex);
+
+        if (segments.size() == 1) {
+            switch (method) {
+                case "GET":
+                case "HEAD":
+                    send(ex, 200, renderList(type.plural, store.list(type, query(ex)), xml));
+                    return;
+                case "POST": {
+                    EntityStore.Snapshot created = store.create(type, body(ex, type));
+                    ex.getResponseHeaders().set("Location", "/" + type.plural + "/" + created.id);
+                    send(ex, 201, render(created, xml));
+                    return;
+                }
+                default:
+                    throw new StandInException(405, "Method not allowed");
+            }
+        }
+
+        String second = segments.get(1);
+        if (segments.size() == 2 && type.relations.containsKey(second)) {
+            requireMethod(method, "GET", "HEAD");
+            EntityType target = EntityType.byPlural(type.relations.get(second)[0]);
+            send(ex, 200, renderList(target.plural, store.allRelated(type, second), xml));
+            return;
+        }
+
+        int id = EntityStore.parseId(second);
+        if (segments.size() == 2) {
+            if (id < 0 && !"PATCH".equals(method)) {
+                throw new StandInException(404, "Could not find an instance with " + type.plural + "/" + second);
+            }
+            switch (method) {
+                case "GET":
+                case "HEAD": {
+                    EntityStore.Snapshot s = store.get(type, id);
+                    if (s == null) throw new StandInException(404, "Could not find an instance with " + type.plural + "/" + id);
+                    send(ex, 200, renderList(type.plural, Collections.singletonList(s), xml));
+                    return;
+                }
+                case "PUT":
+                    send(ex, 200, render(store.replace(type, id, body(ex, type)), xml));
+                    return;
+                case "POST":
+                    send(ex, 200, render(store.amend(type, id, body(ex, type)), xml));
+                    return;
+                case "DELETE":
+                    if (!store.delete(type, id)) throw new StandInException(404, "Could not find any instances with " + type.plural + "/" + id);
+                    send(ex, 200, null);
+                    return;
+                default:
+                    throw new StandInException(405, "Method not allowed");
+            }
+        }
+
+        String relation = segments.get(2);
+        if (!type.relations.containsKey(relation) || id < 0) {
+            throw new StandInException(404, "Could not find endpoint " + ex.getRequestURI().getRawPath());
+        }
+        EntityType target = EntityType.byPlural(type.relations.get(relation)[0]);
+
+        if (segments.size() == 3) {
+            switch (method) {
+                case "GET":
+                case "HEAD": {
+                    List<EntityStore.Snapshot> related = store.related(type, id, relation);
+                    if (related == null) throw new StandInException(404, "Could not find an instance with " + type.plural + "/" + id);
+                    send(ex, 200, renderList(target.plural, related, xml));
+                    return;
+                }
+                case "POST":
+                    store.link(type, id, relation, body(ex, target));
+                    send(ex, 201, null);
+                    return;
+                default:
+                    throw new StandInException(405, "Method not allowed");
+            }
+        }
+
+        if (segments.size() == 4) {
+            int targetId = EntityStore.parseId(segments.get(3));
+            switch (method) {
+                case "DELETE":
+                    if (targetId < 0 || !store.unlink(type, id, relation, targetId)) {
+                        throw new StandInException(404, "Could not find any instances with " + ex.getRequestURI().getRawPath());
+                    }
+                    send(ex, 200, null);
+                    return;
+                case "GET":
+                    if (targetId < 0 || !store.isLinked(type, id, relation, targetId)) {
+                        throw new StandInException(404, "Could not find any instances with " + ex.getRequestURI().getRawPath());
+                    }
+                    throw new StandInException(405, "Method not allowed");
+                default:
+                    throw new StandInException(405, "Method not allowed");
+            }
+        }
+        throw new StandInException(404, "Could not find endpoint " + ex.getRequestURI().getRawPath());
+    }
+
+    private static void requireMethod(String method, String... allowed) {
+        for (String a : allowed) {
+            if (a.equals(method)) return;
+        }
+        throw new StandInException(405, "Method not allowed");
+    }
+
+    private static Map<String, String> query(HttpExchange ex) {
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) return Collections.emptyMap();
+        Map<String, String> out = new LinkedHashMap<>();
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            out.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return out;
+    }
+
+    private static Map<String, Object> body(HttpExchange ex, EntityType type) throws IOException {
+        byte[] raw;
+        try (InputStream in = ex.getRequestBody()) {
+            raw = in.readAllBytes();
+        }
+        String contentType = ex.getRequestHeaders().getFirst("Content-Type");
+        String text = new String(raw, StandardCharsets.UTF_8);
+        if (text.trim().isEmpty()) return new LinkedHashMap<>();
+        if (contentType != null && contentType.contains("xml")) return parseXml(raw, type);
+        try {
+            return MiniJson.parseObject(text);
+        } catch (IllegalArgumentException e) {
+            throw new StandInException(400, e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> parseXml(byte[] raw, EntityType type) {
+        try {
+            DocumentBuilderFactory f = DocumentBuilderFactory.newInstance();
+            f.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            f.setExpandEntityReferences(false);
+            Document doc = f.newDocumentBuilder().parse(new ByteArrayInputStream(raw));
+            Map<String, Object> out = new LinkedHashMap<>();
+            NodeList children = doc.getDocumentElement().getChildNodes();
+            for (int i = 0; i < children.getLength(); i++) {
+                Node n = children.item(i);
+                if (n.getNodeType() != Node.ELEMENT_NODE) continue;
+                String key = n.getNodeName();
+                String value = n.getTextContent();
+                // XML has no booleans; coerce the schema's boolean fields so validation matches JSON
+                if (type.booleans.contains(key) && ("true".equals(value) || "false".equals(value))) {
+                    out.put(key, Boolean.valueOf(value));
+                } else {
+                    out.put(key, value);
+                }
+            }
+            return out;
+        } catch (Exception e) {
+            throw new StandInException(400, "Malformed XML: " + e.getMessage());
+        }
+    }
+
+    private static boolean wantsXml(HttpExchange ex) {
+        String accept = ex.getRequestHeaders().getFirst("Accept");
+        if (accept == null) return false;
+        int xml = accept.indexOf("xml");
+        int json = accept.indexOf("json");
+        return xml >= 0 && (json < 0 || xml < json);
+    }
+
+    private static String render(EntityStore.Snapshot s, boolean xml) {
+        StringBuilder sb = new StringBuilder(128);
+        if (xml) {
+            appendXml(sb, s);
+        } else {
+            appendJson(sb, s);
+        }
+        return sb.toString();
+    }
+
+    private static String renderList(String key, List<EntityStore.Snapshot> items, boolean xml) {
+        StringBuilder sb = new StringBuilder(64 + items.size() * 96);
+        if (xml) {
+            sb.append('<').append(key).append('>');
+            for (EntityStore.Snapshot s : items) appendXml(sb, s);
+            sb.append("</").append(key).append('>');
+        } else {
+            sb.append("{\"").append(key).append("\":[");
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) sb.append(',');
+                appendJson(sb, items.get(i));
+            }
+            sb.append("]}");
+        }
+        return sb.toString();
+    }
+
+    private static void appendJson(StringBuilder sb, EntityStore.Snapshot s) {
+        sb.append("{\"id\":\"").append(s.id).append('"');
+        for (Map.Entry<String, String> f : s.fields.entrySet()) {
+            sb.append(",\"").append(f.getKey()).append("\":\"");
+            escapeJson(sb, f.getValue());
+            sb.append('"');
+        }
+        for (Map.Entry<String, int[]> rel : s.relations.entrySet()) {
+            if (rel.getValue().length == 0) continue;
+            sb.append(",\"").append(rel.getKey()).append("\":[");
+            int[] ids = rel.getValue();
+            for (int i = 0; i < ids.length; i++) {
+                if (i > 0) sb.append(',');
+                sb.append("{\"id\":\"").append(ids[i]).append("\"}");
+            }
+            sb.append(']');
+        }
+        sb.append('}');
+    }
+
+    private static void appendXml(StringBuilder sb, EntityStore.Snapshot s) {
+        String tag = s.type.singular;
+        sb.append('<').append(tag).append("><id>").append(s.id).append("</id>");
+        for (Map.Entry<String, String> f : s.fields.entrySet()) {
+            sb.append('<').append(f.getKey()).append('>');
+            escapeXml(sb, f.getValue());
+            sb.append("</").append(f.getKey()).append('>');
+        }
+        for (Map.Entry<String, int[]> rel : s.relations.entrySet()) {
+            for (int other : rel.getValue()) {
+                sb.append('<').append(rel.getKey()).append("><id>").append(other).append("</id></").append(rel.getKey()).append('>');
+            }
+        }
+        sb.append("</").append(tag).append('>');
+    }
+
+    private static void escapeJson(StringBuilder sb, String v) {
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+    }
+
+    private static void escapeXml(StringBuilder sb, String v) {
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            switch (c) {
+                case '<': sb.append("&lt;"); break;
+                case '>': sb.append("&gt;"); break;
+                case '&': sb.append("&amp;"); break;
+                case '"': sb.append("&quot;"); break;
+                default: sb.append(c);
+            }
+        }
+    }
+
+    private static void sendError(HttpExchange ex, int status, String message) throws IOException {
+        boolean xml = wantsXml(ex);
+        StringBuilder sb = new StringBuilder();
+        if (xml) {
+            sb.append("<errorMessages><errorMessage>");
+            escapeXml(sb, message);
+            sb.append("</errorMessage></errorMessages>");
+        } else {
+            sb.append("{\"errorMessages\":[\"");
+            escapeJson(sb, message);
+            sb.append("\"]}");
+        }
+        send(ex, status, sb.toString());
+    }
+
+    private static void send(HttpExchange ex, int status, String body) throws IOException {
+        Headers h = ex.getResponseHeaders();
+        boolean head = "HEAD".equalsIgnoreCase(ex.getRequestMethod());
+        if (body == null) {
+            ex.sendResponseHeaders(status, -1);
+            return;
+        }
+        if (!h.containsKey("Content-Type")) {
+            h.set("Content-Type", body.startsWith("<") ? "application/xml" : "application/json");
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        String acceptEncoding = ex.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream buf = new ByteArrayOutputStream(bytes.length / 4 + 64);
+            try (GZIPOutputStream gz = new GZIPOutputStream(buf)) {
+                gz.write(bytes);
+            }
+            bytes = buf.toByteArray();
+            h.set("Content-Encoding", "gzip");
+        }
+        if (head) {
+            ex.sendResponseHeaders(status, -1);
+            return;
+        }
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
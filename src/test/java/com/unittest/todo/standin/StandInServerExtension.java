@@ -0,0 +1,56 @@
+package com.unittest.todo.standin;
+
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+
+/**
+ * Points a test class at the shared in-process {@link StandInServer}: RestAssured's base URI and the
+ * {@code todo.baseUrl} property (read by perf plans) are switched for the class and restored after it.
+ * The server starts on first use and stops when the JVM exits.
+ */
+public class StandInServerExtension implements BeforeAllCallback, AfterAllCallback {
+
+    private static StandInServer shared;
+
+    private static final ExtensionContext.Namespace NS = ExtensionContext.Namespace.create(StandInServerExtension.class);
+
+    /** The process-wide stand-in, started on first call. */
+    public static synchronized StandInServer shared() throws IOException {
+        if (shared == null) {
+            StandInServer server = StandInServer.start(0);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "stand-in-shutdown"));
+            shared = server;
+        }
+        return shared;
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) throws Exception {
+        // Static setup (TestAbstract aims RestAssured at the service) runs first, else afterAll would
+        // restore RestAssured's built-in default and point every later class at localhost:8080
+        Class<?> testClass = context.getRequiredTestClass();
+        Class.forName(testClass.getName(), true, testClass.getClassLoader());
+        ExtensionContext.Store store = context.getStore(NS);
+        store.put("baseURI", RestAssured.baseURI);
+        store.put("todo.baseUrl", System.getProperty("todo.baseUrl"));
+        String url = shared().baseUrl();
+        RestAssured.baseURI = url;
+        System.setProperty("todo.baseUrl", url);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        ExtensionContext.Store store = context.getStore(NS);
+        RestAssured.baseURI = store.get("baseURI", String.class);
+        String previous = store.get("todo.baseUrl", String.class);
+        if (previous == null) {
+            System.clearProperty("todo.baseUrl");
+        } else {
+            System.setProperty("todo.baseUrl", previous);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.unittest.todo.standin;
+
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(StandInServerExtension.class)
+class StandInServerTest {
+
+    @Test
+    void crudRoundTrip() {
+        Response created = given().contentType(ContentType.JSON).body("{\"title\":\"stand-in\"}").when().post("/todos");
+        assertEquals(201, created.statusCode());
+        String id = created.jsonPath().getString("id");
+        assertTrue(created.getHeader("Location").endsWith("/todos/" + id));
+
+        assertEquals("stand-in", given().when().get("/todos/" + id).jsonPath().getString("todos[0].title"));
+        assertEquals(400, given().contentType(ContentType.JSON).body("{}").when().put("/todos/" + id).statusCode());
+        assertEquals(200, given().contentType(ContentType.JSON).body("{\"doneStatus\":true}").when().post("/todos/" + id).statusCode());
+        assertEquals("true", given().when().get("/todos/" + id).jsonPath().getString("todos[0].doneStatus"));
+        assertEquals(405, given().contentType(ContentType.JSON).body("{}").when().patch("/todos/" + id).statusCode());
+        assertEquals(200, given().when().delete("/todos/" + id).statusCode());
+        assertEquals(404, given().when().delete("/todos/" + id).statusCode());
+    }
+
+    @Test
+    void rejectsMalformedAndInvalidBodies() {
+        assertEquals(400, given().contentType(ContentType.JSON).body("{\"title\":\"bad").when().post("/todos").statusCode());
+        assertEquals(400, given().contentType(ContentType.XML).body("<todo><title>bad").when().post("/todos").statusCode());
+        assertEquals(400, given().contentType(ContentType.JSON).body("{}").when().post("/todos").statusCode());
+        assertEquals(400, given().contentType(ContentType.JSON).body("{\"title\":\"x\",\"doneStatus\":\"no\"}").when().post("/todos").statusCode());
+        assertEquals(405, given().when().delete("/todos").statusCode());
+    }
+
+    @Test
+    void filtersByFieldValue() {
+        String title = "filter-" + System.nanoTime();
+        given().contentType(ContentType.JSON).body("{\"title\":\"" + title + "\",\"doneStatus\":true}").post("/todos");
+        given().contentType(ContentType.JSON).body("{\"title\":\"" + title + "\"}").post("/todos");
+        List<?> both = given().when().get("/todos?title=" + title).jsonPath().getList("todos");
+        List<?> done = given().when().get("/todos?title=" + title + "&doneStatus=true").jsonPath().getList("todos");
+        assertEquals(2, both.size());
+        assertEquals(1, done.size());
+    }
+
+    @Test
+    void linksAndUnlinksBothEnds() {
+        String todoId = given().contentType(ContentType.JSON).body("{\"title\":\"task\"}").post("/todos").jsonPath().getString("id");
+        String projectId = given().contentType(ContentType.JSON).body("{\"title\":\"proj\"}").post("/projects").jsonPath().getString("id");
+
+        assertEquals(201, given().contentType(ContentType.JSON).body("{\"id\":\"" + todoId + "\"}").post("/projects/" + projectId + "/tasks").statusCode());
+        assertEquals(404, given().contentType(ContentType.JSON).body("{\"id\":\"999999\"}").post("/projects/" + projectId + "/tasks").statusCode());
+        assertEquals(todoId, given().get("/projects/" + projectId + "/tasks").jsonPath().getString("todos[0].id"));
+        assertEquals(projectId, given().get("/todos/" + todoId + "/tasksof").jsonPath().getString("projects[0].id"));
+
+        assertEquals(200, given().delete("/todos/" + todoId + "/tasksof/" + projectId).statusCode());
+        assertEquals(0, given().get("/projects/" + projectId + "/tasks").jsonPath().getList("todos").size());
+    }
+
+    @Test
+    void negotiatesXmlAndGzip() {
+        given().contentType(ContentType.XML).accept(ContentType.XML).body("<project><title>xml project</title></project>")
+                .when().post("/projects").then().statusCode(201).contentType(containsString("xml"));
+        given().accept(ContentType.XML).when().get("/projects").then().statusCode(200).body(containsString("<projects>"));
+        given().header("Accept-Encoding", "gzip").when().get("/projects").then().statusCode(200).header("Content-Encoding", "gzip");
+    }
+}